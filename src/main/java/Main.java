@@ -1,12 +1,17 @@
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import m1graphs2025.Graph;
 import m1graphs2025.Node;
 import m1graphs2025.UndirectedGraph;
 import m1maxflow2025.FlowNetwork;
 import m1maxflow2025.FordFulkerson;
+import m1maxflow2025.ParallelPushRelabel;
 import m1maxflow2025.PathFinder;
+import m1maxflow2025.PushRelabel;
+import m1maxflow2025.ResidualNetwork;
 
 /**
  * Demonstration class for the m1graphs2025 API.
@@ -139,6 +144,67 @@ public class Main {
 		fn1();
 		fn2();
 		allPathFinder();
+		parallelSpeedup(60);
+	}
+
+	/**
+	 * Times the sequential and parallel push-relabel solvers on a grid network,
+	 * like the ones of image segmentation, and prints the speedup.
+	 */
+	private static void parallelSpeedup(int side) {
+		FlowNetwork grid = createGrid(side, new Random(42));
+		System.out.println("\nPush-relabel on a " + side + "x" + side + " grid (" + grid.nbEdges() + " edges)");
+
+		// Warm-up, then each solver on its own residual network
+		PushRelabel.maxFlow(ResidualNetwork.of(grid));
+		ParallelPushRelabel parallel = new ParallelPushRelabel();
+		parallel.maxFlow(ResidualNetwork.of(grid));
+
+		ResidualNetwork network = ResidualNetwork.of(grid);
+		long start = System.nanoTime();
+		int sequentialValue = PushRelabel.maxFlow(network);
+		long sequentialTime = System.nanoTime() - start;
+
+		network = ResidualNetwork.of(grid);
+		start = System.nanoTime();
+		int parallelValue = parallel.maxFlow(network);
+		long parallelTime = System.nanoTime() - start;
+
+		System.out.printf("Sequential: value %d in %.1f ms%n", sequentialValue, sequentialTime / 1e6);
+		System.out.printf("Parallel (%d threads, %d rounds): value %d in %.1f ms%n",
+				ForkJoinPool.commonPool().getParallelism(), parallel.rounds(), parallelValue,
+				parallelTime / 1e6);
+		System.out.printf("Speedup: %.2f%n", (double) sequentialTime / parallelTime);
+	}
+
+	/**
+	 * Grid of side x side pixels, each one linked to its four neighbours, and
+	 * to the source or the target with a random capacity
+	 */
+	private static FlowNetwork createGrid(int side, Random random) {
+		FlowNetwork fn = new FlowNetwork();
+		int s = side * side + 1;
+		int t = side * side + 2;
+		fn.addEdge(new Node(s, "s", fn), new Node(1, fn), random.nextInt(20));
+		fn.addEdge(fn.getNode(1), new Node(t, "t", fn), random.nextInt(20));
+		for (int y = 0; y < side; y++) {
+			for (int x = 0; x < side; x++) {
+				int pixel = y * side + x + 1;
+				if (pixel > 1) {
+					fn.addEdge(s, pixel, random.nextInt(20));
+					fn.addEdge(pixel, t, random.nextInt(20));
+				}
+				if (x + 1 < side) {
+					fn.addEdge(pixel, pixel + 1, random.nextInt(10) + 1);
+					fn.addEdge(pixel + 1, pixel, random.nextInt(10) + 1);
+				}
+				if (y + 1 < side) {
+					fn.addEdge(pixel, pixel + side, random.nextInt(10) + 1);
+					fn.addEdge(pixel + side, pixel, random.nextInt(10) + 1);
+				}
+			}
+		}
+		return fn;
 	}
 
 	private static void importDot(String file, FordFulkerson.PathFinder finder) {
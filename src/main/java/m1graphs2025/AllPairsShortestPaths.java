@@ -0,0 +1,237 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the shortest distances between every pair of nodes of a FrozenGraph
+ * into a DistanceMatrix.
+ *
+ * Dense graphs use a blocked Floyd–Warshall: the matrix is cut into square
+ * tiles that fit in cache, and for every diagonal tile the tiles of its row
+ * and column, then all the remaining tiles, are updated in parallel on the
+ * common fork/join pool. Sparse graphs run one Dijkstra per source instead,
+ * the sources being spread over the same pool.
+ *
+ * Edge weights must not be negative, unweighted edges count as 1. Every finite
+ * distance must fit in an int.
+ *
+ * @see DistanceMatrix
+ */
+public class AllPairsShortestPaths {
+	/**
+	 * Side of the Floyd–Warshall tiles: 3 tiles of ints fit in a 64 KiB cache
+	 */
+	private static final int BLOCK_SIZE = 64;
+
+	/**
+	 * Floyd–Warshall is used when the average out-degree is at least
+	 * nbNodes / DENSITY_RATIO
+	 */
+	private static final int DENSITY_RATIO = 16;
+
+	private static final int INF = DistanceMatrix.INFINITY;
+
+	private AllPairsShortestPaths() {
+	}
+
+	/**
+	 * Computes all the distances, choosing the algorithm from the density of the
+	 * graph.
+	 *
+	 * @param g                the graph
+	 * @param withPredecessors true to be able to rebuild the paths
+	 * @return the distance matrix
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 * @throws ArithmeticException      if a distance does not fit in an int
+	 */
+	public static DistanceMatrix compute(FrozenGraph g, boolean withPredecessors) {
+		long n = g.nbNodes();
+		if ((long) g.nbArcs() * DENSITY_RATIO >= n * n) {
+			return floydWarshall(g, withPredecessors);
+		}
+		return dijkstra(g, withPredecessors);
+	}
+
+	/**
+	 * Computes all the distances with the blocked Floyd–Warshall algorithm, in
+	 * O(n^3) time.
+	 *
+	 * @param g                the graph
+	 * @param withPredecessors true to be able to rebuild the paths
+	 * @return the distance matrix
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 * @throws ArithmeticException      if a distance does not fit in an int
+	 */
+	public static DistanceMatrix floydWarshall(FrozenGraph g, boolean withPredecessors) {
+		g.requireNonNegativeWeights();
+		int n = g.nbNodes();
+		int[] dist = newMatrix(n);
+		for (int u = 0; u < n; u++) {
+			dist[u * n + u] = 0;
+			for (int a = g.outBegin(u); a < g.outEnd(u); a++) {
+				int v = g.target(a);
+				dist[u * n + v] = Math.min(dist[u * n + v], g.outWeight(a));
+			}
+		}
+
+		int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		for (int kb = 0; kb < blocks; kb++) {
+			final int k = kb;
+			// The diagonal tile only depends on itself
+			relaxTile(dist, n, k, k, k);
+			// The tiles of its row and column only depend on themselves and on it
+			IntStream.range(0, 2 * blocks).parallel().forEach(t -> {
+				int b = t >> 1;
+				if (b != k) {
+					if ((t & 1) == 0) {
+						relaxTile(dist, n, k, b, k);
+					} else {
+						relaxTile(dist, n, b, k, k);
+					}
+				}
+			});
+			// The other tiles only read the row and column tiles
+			IntStream.range(0, blocks * blocks).parallel().forEach(t -> {
+				int ib = t / blocks;
+				int jb = t % blocks;
+				if (ib != k && jb != k) {
+					relaxTile(dist, n, ib, jb, k);
+				}
+			});
+		}
+		requireFits(g, dist);
+		return new DistanceMatrix(g, dist, withPredecessors ? predecessors(g, dist) : null);
+	}
+
+	/**
+	 * Checks that no node was left at INF while an arc enters it from a node
+	 * reached from the same source: its distance did not fit in an int.
+	 */
+	private static void requireFits(FrozenGraph g, int[] dist) {
+		int n = g.nbNodes();
+		IntStream.range(0, n).parallel().forEach(s -> {
+			int row = s * n;
+			for (int u = 0; u < n; u++) {
+				if (dist[row + u] == INF) {
+					continue;
+				}
+				for (int a = g.outBegin(u); a < g.outEnd(u); a++) {
+					if (dist[row + g.target(a)] == INF) {
+						throw new ArithmeticException("Distance does not fit in an int");
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Rebuilds the predecessors from the final distances with a search of the
+	 * tight arcs from every source.
+	 *
+	 * Copying them along with the distances, as the unblocked algorithm does, is
+	 * not safe once the tiles are relaxed out of order: with zero-weight cycles
+	 * the copied predecessors can loop.
+	 */
+	private static int[] predecessors(FrozenGraph g, int[] dist) {
+		int n = g.nbNodes();
+		int[] pred = new int[n * n];
+		Arrays.fill(pred, -1);
+		ThreadLocal<int[]> queues = ThreadLocal.withInitial(() -> new int[n]);
+		IntStream.range(0, n).parallel().forEach(s -> {
+			int row = s * n;
+			int[] queue = queues.get();
+			int head = 0;
+			int tail = 0;
+			queue[tail++] = s;
+			while (head < tail) {
+				int u = queue[head++];
+				for (int a = g.outBegin(u); a < g.outEnd(u); a++) {
+					int v = g.target(a);
+					if (v != s && pred[row + v] < 0
+							&& (long) dist[row + u] + g.outWeight(a) == dist[row + v]) {
+						pred[row + v] = u;
+						queue[tail++] = v;
+					}
+				}
+			}
+		});
+		return pred;
+	}
+
+	/**
+	 * Relaxes the tile (ib, jb) through the intermediate nodes of the tile kb
+	 */
+	private static void relaxTile(int[] dist, int n, int ib, int jb, int kb) {
+		int iEnd = Math.min(n, (ib + 1) * BLOCK_SIZE);
+		int jStart = jb * BLOCK_SIZE;
+		int jEnd = Math.min(n, jStart + BLOCK_SIZE);
+		int kEnd = Math.min(n, (kb + 1) * BLOCK_SIZE);
+		for (int k = kb * BLOCK_SIZE; k < kEnd; k++) {
+			int kRow = k * n;
+			for (int i = ib * BLOCK_SIZE; i < iEnd; i++) {
+				int iRow = i * n;
+				int dik = dist[iRow + k];
+				if (dik == INF) {
+					continue;
+				}
+				for (int j = jStart; j < jEnd; j++) {
+					int dkj = dist[kRow + j];
+					if (dkj == INF) {
+						continue;
+					}
+					// A sum of INF or more is skipped, a later k may still give a distance that fits
+					long d = (long) dik + dkj;
+					if (d < dist[iRow + j]) {
+						dist[iRow + j] = (int) d;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes all the distances with one Dijkstra per source, in
+	 * O(n m log n) time.
+	 *
+	 * @param g                the graph
+	 * @param withPredecessors true to be able to rebuild the paths
+	 * @return the distance matrix
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 * @throws ArithmeticException      if a distance does not fit in an int
+	 */
+	public static DistanceMatrix dijkstra(FrozenGraph g, boolean withPredecessors) {
+		g.requireNonNegativeWeights();
+		int n = g.nbNodes();
+		int[] dist = newMatrix(n);
+		int[] pred = withPredecessors ? new int[n * n] : null;
+		ThreadLocal<ShortestPaths> engines = ThreadLocal.withInitial(() -> new ShortestPaths(g));
+		IntStream.range(0, n).parallel().forEach(s -> {
+			ShortestPaths engine = engines.get();
+			engine.run(s);
+			int row = s * n;
+			for (int v = 0; v < n; v++) {
+				long d = engine.distance(v);
+				if (d != ShortestPaths.INFINITY) {
+					if (d >= INF) {
+						throw new ArithmeticException("Distance does not fit in an int");
+					}
+					dist[row + v] = (int) d;
+				}
+				if (pred != null) {
+					pred[row + v] = engine.predecessor(v);
+				}
+			}
+		});
+		return new DistanceMatrix(g, dist, pred);
+	}
+
+	private static int[] newMatrix(int n) {
+		if ((long) n * n > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many nodes for a distance matrix: " + n);
+		}
+		int[] dist = new int[n * n];
+		Arrays.fill(dist, INF);
+		return dist;
+	}
+}
@@ -0,0 +1,116 @@
+package m1graphs2025;
+
+/**
+ * This class answers point-to-point shortest-path queries with A* guided by
+ * the lower bounds of a set of Landmarks.
+ *
+ * Since the landmark bounds are consistent, every node is settled at most once
+ * and the search stops as soon as the target is settled, usually after
+ * exploring a small part of the graph. Nodes from which a landmark proves the
+ * target unreachable are never queued.
+ *
+ * An instance keeps its buffers between queries, so it should be reused. It
+ * is not thread-safe, but several instances can share the same Landmarks.
+ *
+ * @see Landmarks
+ */
+public class AltSearch {
+	private final FrozenGraph graph;
+	private final Landmarks landmarks;
+	private final int[] stamp;
+	private final long[] dist;
+	private final long[] bound;
+	private final int[] parent;
+	private final IndexedDaryHeap heap;
+	private int query;
+	private int settled;
+	private long lastDistance = ShortestPaths.INFINITY;
+
+	/**
+	 * Creates a query engine
+	 *
+	 * @param landmarks the preprocessed landmarks
+	 */
+	public AltSearch(Landmarks landmarks) {
+		this.landmarks = landmarks;
+		this.graph = landmarks.getGraph();
+		int n = graph.nbNodes();
+		this.stamp = new int[n];
+		this.dist = new long[n];
+		this.bound = new long[n];
+		this.parent = new int[n];
+		this.heap = new IndexedDaryHeap(n, 4);
+	}
+
+	/**
+	 * @return the number of nodes settled by the last query
+	 */
+	public int settledNodes() {
+		return settled;
+	}
+
+	/**
+	 * @return the length of the path found by the last query, or
+	 *         ShortestPaths.INFINITY if there was none
+	 */
+	public long lastDistance() {
+		return lastDistance;
+	}
+
+	/**
+	 * Computes a weighted shortest path between two nodes.
+	 *
+	 * @param source the index of the source node
+	 * @param target the index of the target node
+	 * @return the node indices of the path, or null if there is none
+	 */
+	public int[] path(int source, int target) {
+		query++;
+		settled = 0;
+		lastDistance = ShortestPaths.INFINITY;
+		heap.clear();
+
+		reach(source, 0, -1, target);
+		while (!heap.isEmpty()) {
+			int u = heap.poll();
+			settled++;
+			if (u == target) {
+				lastDistance = dist[u];
+				return rebuild(target);
+			}
+			for (int a = graph.outBegin(u); a < graph.outEnd(u); a++) {
+				int v = graph.target(a);
+				long alt = dist[u] + graph.outWeight(a);
+				if (stamp[v] != query || alt < dist[v]) {
+					reach(v, alt, u, target);
+				}
+			}
+		}
+		return null;
+	}
+
+	private void reach(int v, long d, int pred, int target) {
+		if (stamp[v] != query) {
+			stamp[v] = query;
+			bound[v] = landmarks.lowerBound(v, target);
+		}
+		if (bound[v] == ShortestPaths.INFINITY) {
+			return;
+		}
+		dist[v] = d;
+		parent[v] = pred;
+		heap.offer(v, d + bound[v]);
+	}
+
+	private int[] rebuild(int target) {
+		int length = 0;
+		for (int v = target; v >= 0; v = parent[v]) {
+			length++;
+		}
+		int[] path = new int[length];
+		for (int v = target, i = length - 1; v >= 0; v = parent[v], i--) {
+			path[i] = v;
+		}
+		return path;
+	}
+}
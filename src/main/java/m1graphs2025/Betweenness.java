@@ -0,0 +1,202 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the betweenness centrality of the nodes of a FrozenGraph with
+ * Brandes' algorithm.
+ *
+ * A search from every source counts the shortest paths to every node, then
+ * the dependencies of the source on the nodes are accumulated in reverse
+ * order of distance. Sources are spread over the common fork/join pool: each
+ * task keeps its own buffers and centrality array, and the arrays are added
+ * together at the end.
+ *
+ * The unweighted variant uses BFS. The weighted one uses Dijkstra and needs
+ * positive weights, unweighted edges counting as 1. Parallel edges count as
+ * distinct paths. In an undirected graph every path is found from both ends,
+ * so the scores are halved.
+ */
+public class Betweenness {
+
+	private Betweenness() {
+	}
+
+	/**
+	 * Computes the exact betweenness, with a search from every node.
+	 *
+	 * @param g        the graph
+	 * @param weighted true to use the edge weights
+	 * @return the betweenness of every node index
+	 * @throws IllegalArgumentException if weighted and an edge weight is not
+	 *                                  positive
+	 */
+	public static double[] compute(FrozenGraph g, boolean weighted) {
+		return accumulate(g, weighted, IntStream.range(0, g.nbNodes()).toArray(), 1);
+	}
+
+	/**
+	 * Estimates the betweenness from k random sources, the result being scaled
+	 * by nbNodes / k.
+	 *
+	 * @param g        the graph
+	 * @param weighted true to use the edge weights
+	 * @param k        the number of sources, at least 1
+	 * @param seed     the seed of the choice of the sources
+	 * @return the estimated betweenness of every node index
+	 * @throws IllegalArgumentException if k < 1, or weighted and an edge weight
+	 *                                  is not positive
+	 */
+	public static double[] sample(FrozenGraph g, boolean weighted, int k, long seed) {
+		if (k < 1) {
+			throw new IllegalArgumentException("At least one source is needed");
+		}
+		int n = g.nbNodes();
+		if (k >= n) {
+			return compute(g, weighted);
+		}
+		// Partial Fisher-Yates shuffle
+		int[] nodes = IntStream.range(0, n).toArray();
+		Random random = new Random(seed);
+		for (int i = 0; i < k; i++) {
+			int j = i + random.nextInt(n - i);
+			int tmp = nodes[i];
+			nodes[i] = nodes[j];
+			nodes[j] = tmp;
+		}
+		return accumulate(g, weighted, Arrays.copyOf(nodes, k), (double) n / k);
+	}
+
+	private static double[] accumulate(FrozenGraph g, boolean weighted, int[] sources, double scale) {
+		if (weighted) {
+			for (int e = 0; e < g.nbEdges(); e++) {
+				if (g.edgeWeight(e) <= 0) {
+					throw new IllegalArgumentException("Non-positive weight on edge " + g.edge(e));
+				}
+			}
+		}
+		double[] centrality = Arrays.stream(sources).parallel()
+				.collect(() -> new Worker(g, weighted), Worker::run, Worker::merge).centrality;
+		double factor = g.isDirected() ? scale : scale / 2;
+		if (factor != 1) {
+			for (int v = 0; v < centrality.length; v++) {
+				centrality[v] *= factor;
+			}
+		}
+		return centrality;
+	}
+
+	/**
+	 * Buffers and partial result of one task
+	 */
+	private static final class Worker {
+		private final FrozenGraph g;
+		private final boolean weighted;
+		private final double[] centrality;
+		private final long[] dist;
+		private final double[] sigma;
+		private final double[] delta;
+		private final int[] order;
+		private final IndexedDaryHeap heap;
+
+		Worker(FrozenGraph g, boolean weighted) {
+			int n = g.nbNodes();
+			this.g = g;
+			this.weighted = weighted;
+			this.centrality = new double[n];
+			this.dist = new long[n];
+			this.sigma = new double[n];
+			this.delta = new double[n];
+			this.order = new int[n];
+			this.heap = weighted ? new IndexedDaryHeap(n, 4) : null;
+			Arrays.fill(dist, ShortestPaths.INFINITY);
+		}
+
+		void run(int s) {
+			int count = weighted ? dijkstra(s) : bfs(s);
+
+			// Dependencies, each node after all the nodes it precedes
+			for (int i = count - 1; i >= 0; i--) {
+				int v = order[i];
+				double d = 0;
+				for (int a = g.outBegin(v); a < g.outEnd(v); a++) {
+					int w = g.target(a);
+					if (dist[w] == dist[v] + weight(a)) {
+						d += sigma[v] / sigma[w] * (1 + delta[w]);
+					}
+				}
+				delta[v] = d;
+				if (v != s) {
+					centrality[v] += d;
+				}
+			}
+			for (int i = 0; i < count; i++) {
+				dist[order[i]] = ShortestPaths.INFINITY;
+			}
+		}
+
+		private long weight(int a) {
+			return weighted ? g.outWeight(a) : 1;
+		}
+
+		/**
+		 * @return the number of nodes reached, listed by distance in order
+		 */
+		private int bfs(int s) {
+			int head = 0;
+			int tail = 0;
+			dist[s] = 0;
+			sigma[s] = 1;
+			order[tail++] = s;
+			while (head < tail) {
+				int v = order[head++];
+				for (int a = g.outBegin(v); a < g.outEnd(v); a++) {
+					int w = g.target(a);
+					if (dist[w] == ShortestPaths.INFINITY) {
+						dist[w] = dist[v] + 1;
+						sigma[w] = 0;
+						order[tail++] = w;
+					}
+					if (dist[w] == dist[v] + 1) {
+						sigma[w] += sigma[v];
+					}
+				}
+			}
+			return tail;
+		}
+
+		/**
+		 * @return the number of nodes reached, listed by distance in order
+		 */
+		private int dijkstra(int s) {
+			int count = 0;
+			dist[s] = 0;
+			sigma[s] = 1;
+			heap.offer(s, 0);
+			while (!heap.isEmpty()) {
+				int v = heap.poll();
+				order[count++] = v;
+				for (int a = g.outBegin(v); a < g.outEnd(v); a++) {
+					int w = g.target(a);
+					long alt = dist[v] + g.outWeight(a);
+					if (alt < dist[w]) {
+						dist[w] = alt;
+						sigma[w] = sigma[v];
+						heap.offer(w, alt);
+					} else if (alt == dist[w]) {
+						sigma[w] += sigma[v];
+					}
+				}
+			}
+			return count;
+		}
+
+		void merge(Worker other) {
+			for (int v = 0; v < centrality.length; v++) {
+				centrality[v] += other.centrality[v];
+			}
+		}
+	}
+}
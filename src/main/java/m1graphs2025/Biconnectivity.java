@@ -0,0 +1,198 @@
+package m1graphs2025;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class holds the bridges, articulation points and biconnected
+ * components of an undirected FrozenGraph, found in a single depth-first
+ * search with Tarjan's low-links.
+ *
+ * The search keeps its own stack instead of recursing, so it works on graphs
+ * of any depth. Only the edge leading to a node is ignored when looking back
+ * at its parent, not every edge to the parent, so two parallel edges are never
+ * bridges. Self-loops belong to no component.
+ */
+public class Biconnectivity {
+	private final FrozenGraph graph;
+	private final boolean[] bridge;
+	private final boolean[] articulation;
+	private final int[][] components;
+
+	private Biconnectivity(FrozenGraph graph, boolean[] bridge, boolean[] articulation, int[][] components) {
+		this.graph = graph;
+		this.bridge = bridge;
+		this.articulation = articulation;
+		this.components = components;
+	}
+
+	/**
+	 * Analyses a graph.
+	 *
+	 * @param g the graph
+	 * @return the biconnectivity of g
+	 * @throws IllegalArgumentException if g is directed
+	 */
+	public static Biconnectivity of(FrozenGraph g) {
+		if (g.isDirected()) {
+			throw new IllegalArgumentException("Biconnectivity is computed on undirected graphs");
+		}
+		int n = g.nbNodes();
+		int[] disc = new int[n];
+		int[] low = new int[n];
+		int[] parentEdge = new int[n];
+		int[] current = new int[n];
+		Arrays.fill(disc, -1);
+		boolean[] bridge = new boolean[g.nbEdges()];
+		boolean[] articulation = new boolean[n];
+		List<int[]> components = new ArrayList<>();
+
+		int[] stack = new int[n];
+		IntList edgeStack = new IntList();
+		int time = 0;
+		for (int root = 0; root < n; root++) {
+			if (disc[root] >= 0) {
+				continue;
+			}
+			int rootChildren = 0;
+			int depth = 0;
+			disc[root] = low[root] = time++;
+			parentEdge[root] = -1;
+			current[root] = g.outBegin(root);
+			stack[depth++] = root;
+			while (depth > 0) {
+				int u = stack[depth - 1];
+				if (current[u] < g.outEnd(u)) {
+					int a = current[u]++;
+					int v = g.target(a);
+					int e = g.outEdge(a);
+					if (e == parentEdge[u] || v == u) {
+						continue;
+					}
+					if (disc[v] < 0) {
+						disc[v] = low[v] = time++;
+						parentEdge[v] = e;
+						current[v] = g.outBegin(v);
+						stack[depth++] = v;
+						edgeStack.add(e);
+						if (u == root) {
+							rootChildren++;
+						}
+					} else if (disc[v] < disc[u]) {
+						// Back edge, seen from its lower end only
+						low[u] = Math.min(low[u], disc[v]);
+						edgeStack.add(e);
+					}
+					continue;
+				}
+
+				depth--;
+				if (depth == 0) {
+					continue;
+				}
+				int p = stack[depth - 1];
+				low[p] = Math.min(low[p], low[u]);
+				if (low[u] > disc[p]) {
+					bridge[parentEdge[u]] = true;
+				}
+				if (low[u] >= disc[p]) {
+					if (p != root) {
+						articulation[p] = true;
+					}
+					// The edges from the tree edge to u up form a component
+					int start = edgeStack.size - 1;
+					while (edgeStack.data[start] != parentEdge[u]) {
+						start--;
+					}
+					int[] component = Arrays.copyOfRange(edgeStack.data, start, edgeStack.size);
+					edgeStack.size = start;
+					Arrays.sort(component);
+					components.add(component);
+				}
+			}
+			if (rootChildren > 1) {
+				articulation[root] = true;
+			}
+		}
+		return new Biconnectivity(g, bridge, articulation, components.toArray(new int[0][]));
+	}
+
+	/**
+	 * @return the graph of the analysis
+	 */
+	public FrozenGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @param e the index of an edge
+	 * @return true if removing e disconnects its ends
+	 */
+	public boolean isBridge(int e) {
+		return bridge[e];
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return true if removing v disconnects its component
+	 */
+	public boolean isArticulationPoint(int v) {
+		return articulation[v];
+	}
+
+	/**
+	 * @return the sorted indices of the bridges
+	 */
+	public int[] bridges() {
+		IntList list = new IntList();
+		for (int e = 0; e < bridge.length; e++) {
+			if (bridge[e]) {
+				list.add(e);
+			}
+		}
+		return list.toArray();
+	}
+
+	/**
+	 * @return the sorted indices of the articulation points
+	 */
+	public int[] articulationPoints() {
+		IntList list = new IntList();
+		for (int v = 0; v < articulation.length; v++) {
+			if (articulation[v]) {
+				list.add(v);
+			}
+		}
+		return list.toArray();
+	}
+
+	/**
+	 * @return the number of biconnected components
+	 */
+	public int count() {
+		return components.length;
+	}
+
+	/**
+	 * @param c a biconnected component
+	 * @return a copy of the sorted edge indices of c
+	 */
+	public int[] componentEdges(int c) {
+		return Arrays.copyOf(components[c], components[c].length);
+	}
+
+	/**
+	 * @param c a biconnected component
+	 * @return the sorted indices of the nodes of c
+	 */
+	public int[] componentNodes(int c) {
+		int[] edges = components[c];
+		int[] nodes = new int[2 * edges.length];
+		for (int i = 0; i < edges.length; i++) {
+			nodes[2 * i] = graph.edgeFrom(edges[i]);
+			nodes[2 * i + 1] = graph.edgeTo(edges[i]);
+		}
+		return Arrays.stream(nodes).sorted().distinct().toArray();
+	}
+}
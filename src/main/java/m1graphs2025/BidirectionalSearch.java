@@ -0,0 +1,214 @@
+package m1graphs2025;
+
+/**
+ * This class answers point-to-point path queries on a FrozenGraph by searching
+ * from both ends at once: forward along the outgoing arcs of the source and
+ * backward along the incoming arcs of the target.
+ *
+ * The BFS version expands the smaller frontier one full level at a time and
+ * stops after the first level where the two searches meet. The Dijkstra
+ * version alternates between two heaps and stops as soon as the sum of their
+ * smallest keys reaches the best path found through a meeting node.
+ *
+ * An instance keeps its buffers between queries (the visited marks are reset
+ * with a query stamp), so it should be reused. It is not thread-safe.
+ *
+ * Edge weights must not be negative, unweighted edges count as 1.
+ */
+public class BidirectionalSearch {
+	private final FrozenGraph graph;
+	private final int[] stampF;
+	private final int[] stampB;
+	private final int[] parentF;
+	private final int[] parentB;
+	private final long[] distF;
+	private final long[] distB;
+	private final IndexedDaryHeap heapF;
+	private final IndexedDaryHeap heapB;
+	private final IntList frontF = new IntList();
+	private final IntList frontB = new IntList();
+	private final IntList next = new IntList();
+	private int query;
+	private int settled;
+
+	/**
+	 * Creates a search engine
+	 *
+	 * @param graph the graph
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 */
+	public BidirectionalSearch(FrozenGraph graph) {
+		graph.requireNonNegativeWeights();
+		int n = graph.nbNodes();
+		this.graph = graph;
+		this.stampF = new int[n];
+		this.stampB = new int[n];
+		this.parentF = new int[n];
+		this.parentB = new int[n];
+		this.distF = new long[n];
+		this.distB = new long[n];
+		this.heapF = new IndexedDaryHeap(n, 4);
+		this.heapB = new IndexedDaryHeap(n, 4);
+	}
+
+	/**
+	 * @return the number of nodes expanded by the last query
+	 */
+	public int settledNodes() {
+		return settled;
+	}
+
+	private void start(int source, int target) {
+		query++;
+		settled = 0;
+		stampF[source] = query;
+		parentF[source] = -1;
+		distF[source] = 0;
+		stampB[target] = query;
+		parentB[target] = -1;
+		distB[target] = 0;
+	}
+
+	/**
+	 * Finds a path with the fewest edges with a bidirectional Breadth-First
+	 * Search.
+	 *
+	 * @param source the index of the source node
+	 * @param target the index of the target node
+	 * @return the node indices of the path, or null if there is none
+	 */
+	public int[] bfs(int source, int target) {
+		start(source, target);
+		if (source == target) {
+			return new int[] { source };
+		}
+		frontF.clear();
+		frontF.add(source);
+		frontB.clear();
+		frontB.add(target);
+
+		while (frontF.size > 0 && frontB.size > 0) {
+			boolean forward = frontF.size <= frontB.size;
+			IntList front = forward ? frontF : frontB;
+			int[] stamp = forward ? stampF : stampB;
+			int[] other = forward ? stampB : stampF;
+			int[] parent = forward ? parentF : parentB;
+			long[] dist = forward ? distF : distB;
+			long[] otherDist = forward ? distB : distF;
+
+			long best = ShortestPaths.INFINITY;
+			int meetFrom = -1;
+			int meetTo = -1;
+			next.clear();
+			for (int i = 0; i < front.size; i++) {
+				int u = front.data[i];
+				settled++;
+				int end = forward ? graph.outEnd(u) : graph.inEnd(u);
+				for (int a = forward ? graph.outBegin(u) : graph.inBegin(u); a < end; a++) {
+					int v = forward ? graph.target(a) : graph.source(a);
+					if (other[v] == query && dist[u] + 1 + otherDist[v] < best) {
+						best = dist[u] + 1 + otherDist[v];
+						meetFrom = u;
+						meetTo = v;
+					}
+					if (stamp[v] != query) {
+						stamp[v] = query;
+						parent[v] = u;
+						dist[v] = dist[u] + 1;
+						next.add(v);
+					}
+				}
+			}
+			if (meetFrom >= 0) {
+				return forward ? join(meetFrom, meetTo) : join(meetTo, meetFrom);
+			}
+			front.clear();
+			for (int i = 0; i < next.size; i++) {
+				front.add(next.data[i]);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds a weighted shortest path with a bidirectional Dijkstra.
+	 *
+	 * @param source the index of the source node
+	 * @param target the index of the target node
+	 * @return the node indices of the path, or null if there is none
+	 */
+	public int[] dijkstra(int source, int target) {
+		start(source, target);
+		heapF.clear();
+		heapB.clear();
+		heapF.offer(source, 0);
+		heapB.offer(target, 0);
+		long best = source == target ? 0 : ShortestPaths.INFINITY;
+		int meet = source == target ? source : -1;
+
+		while (!heapF.isEmpty() && !heapB.isEmpty()) {
+			long topF = heapF.peekKey();
+			long topB = heapB.peekKey();
+			if (topF + topB >= best) {
+				break;
+			}
+			boolean forward = topF <= topB;
+			IndexedDaryHeap heap = forward ? heapF : heapB;
+			int[] stamp = forward ? stampF : stampB;
+			int[] other = forward ? stampB : stampF;
+			int[] parent = forward ? parentF : parentB;
+			long[] dist = forward ? distF : distB;
+			long[] otherDist = forward ? distB : distF;
+
+			int u = heap.poll();
+			settled++;
+			int end = forward ? graph.outEnd(u) : graph.inEnd(u);
+			for (int a = forward ? graph.outBegin(u) : graph.inBegin(u); a < end; a++) {
+				int v = forward ? graph.target(a) : graph.source(a);
+				long alt = dist[u] + (forward ? graph.outWeight(a) : graph.inWeight(a));
+				if (stamp[v] != query || alt < dist[v]) {
+					stamp[v] = query;
+					dist[v] = alt;
+					parent[v] = u;
+					heap.offer(v, alt);
+				}
+				if (other[v] == query && dist[v] + otherDist[v] < best) {
+					best = dist[v] + otherDist[v];
+					meet = v;
+				}
+			}
+		}
+		return meet < 0 ? null : join(meet, meet);
+	}
+
+	/**
+	 * Joins the forward path from the source to u with the backward path from v
+	 * to the target.
+	 */
+	private int[] join(int u, int v) {
+		int lengthF = 0;
+		for (int w = u; w >= 0; w = parentF[w]) {
+			lengthF++;
+		}
+		int length = lengthF;
+		if (u != v) {
+			for (int w = v; w >= 0; w = parentB[w]) {
+				length++;
+			}
+		} else {
+			for (int w = parentB[v]; w >= 0; w = parentB[w]) {
+				length++;
+			}
+		}
+		int[] path = new int[length];
+		int i = lengthF - 1;
+		for (int w = u; w >= 0; w = parentF[w]) {
+			path[i--] = w;
+		}
+		i = lengthF;
+		for (int w = u != v ? v : parentB[v]; w >= 0; w = parentB[w]) {
+			path[i++] = w;
+		}
+		return path;
+	}
+}
@@ -0,0 +1,318 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+
+/**
+ * This class holds a maximum matching of a bipartite FrozenGraph, computed
+ * with the Hopcroft–Karp algorithm in O(m sqrt(n)).
+ *
+ * Each phase layers the graph with a BFS from the free left nodes, then finds
+ * a maximal set of disjoint shortest augmenting paths with an iterative DFS
+ * that never rescans an arc. Edge directions are ignored, so the graph can be
+ * a Graph with its edges going either way or an UndirectedGraph.
+ *
+ * A minimum vertex cover is derived from the matching with König's theorem.
+ */
+public class BipartiteMatching {
+	private static final int INF = Integer.MAX_VALUE;
+
+	private final FrozenGraph graph;
+	private final boolean[] left;
+	private final int[] mate;
+	private final int[] mateEdge;
+	private final int size;
+
+	// Arcs from every left node to its right neighbours
+	private final int[] start;
+	private final int[] target;
+
+	private BipartiteMatching(FrozenGraph graph, boolean[] left) {
+		int n = graph.nbNodes();
+		int m = graph.nbEdges();
+		this.graph = graph;
+		this.left = left;
+
+		int[] edgeOf = new int[m];
+		start = new int[n + 1];
+		for (int e = 0; e < m; e++) {
+			int u = graph.edgeFrom(e);
+			int v = graph.edgeTo(e);
+			if (left[u] == left[v]) {
+				throw new IllegalArgumentException("Edge inside one side: " + graph.edge(e));
+			}
+			start[(left[u] ? u : v) + 1]++;
+		}
+		for (int u = 0; u < n; u++) {
+			start[u + 1] += start[u];
+		}
+		target = new int[m];
+		int[] fill = Arrays.copyOf(start, n);
+		for (int e = 0; e < m; e++) {
+			int u = graph.edgeFrom(e);
+			int v = graph.edgeTo(e);
+			int l = left[u] ? u : v;
+			int a = fill[l]++;
+			target[a] = left[u] ? v : u;
+			edgeOf[a] = e;
+		}
+
+		mate = new int[n];
+		mateEdge = new int[n];
+		Arrays.fill(mate, -1);
+		Arrays.fill(mateEdge, -1);
+		size = hopcroftKarp(edgeOf);
+	}
+
+	/**
+	 * Computes a maximum matching, the two sides being found with a BFS.
+	 *
+	 * @param g the graph
+	 * @return the matching
+	 * @throws IllegalArgumentException if g is not bipartite
+	 */
+	public static BipartiteMatching of(FrozenGraph g) {
+		return new BipartiteMatching(g, twoColouring(g));
+	}
+
+	/**
+	 * Computes a maximum matching with given sides.
+	 *
+	 * @param g    the graph
+	 * @param left true for the node indices of the left side
+	 * @return the matching
+	 * @throws IllegalArgumentException if left has the wrong length or an edge
+	 *                                  has both ends on the same side
+	 */
+	public static BipartiteMatching of(FrozenGraph g, boolean[] left) {
+		if (left.length != g.nbNodes()) {
+			throw new IllegalArgumentException("One side is needed for every node");
+		}
+		return new BipartiteMatching(g, Arrays.copyOf(left, left.length));
+	}
+
+	/**
+	 * Puts the first node of every component on the left, then alternates
+	 */
+	private static boolean[] twoColouring(FrozenGraph g) {
+		int n = g.nbNodes();
+		boolean[] left = new boolean[n];
+		boolean[] seen = new boolean[n];
+		int[] queue = new int[n];
+		for (int s = 0; s < n; s++) {
+			if (seen[s]) {
+				continue;
+			}
+			seen[s] = true;
+			left[s] = true;
+			int head = 0;
+			int tail = 0;
+			queue[tail++] = s;
+			while (head < tail) {
+				int u = queue[head++];
+				for (int a = g.outBegin(u); a < g.outEnd(u); a++) {
+					tail = colour(g.target(a), u, left, seen, queue, tail);
+				}
+				for (int a = g.inBegin(u); a < g.inEnd(u); a++) {
+					tail = colour(g.source(a), u, left, seen, queue, tail);
+				}
+			}
+		}
+		return left;
+	}
+
+	private static int colour(int v, int u, boolean[] left, boolean[] seen, int[] queue, int tail) {
+		if (!seen[v]) {
+			seen[v] = true;
+			left[v] = !left[u];
+			queue[tail++] = v;
+		} else if (left[v] == left[u]) {
+			throw new IllegalArgumentException("Graph is not bipartite");
+		}
+		return tail;
+	}
+
+	private int hopcroftKarp(int[] edgeOf) {
+		int n = graph.nbNodes();
+		int[] dist = new int[n];
+		int[] queue = new int[n];
+		int[] current = new int[n];
+		int[] stack = new int[n];
+		int matched = 0;
+		while (true) {
+			int limit = layer(dist, queue);
+			if (limit == INF) {
+				return matched;
+			}
+			System.arraycopy(start, 0, current, 0, n);
+			for (int root = 0; root < n; root++) {
+				if (!left[root] || mate[root] >= 0 || dist[root] != 0) {
+					continue;
+				}
+				int depth = 0;
+				stack[depth++] = root;
+				boolean found = false;
+				while (depth > 0 && !found) {
+					int u = stack[depth - 1];
+					if (current[u] == start[u + 1]) {
+						// Dead end for the rest of the phase
+						dist[u] = INF;
+						depth--;
+						if (depth > 0) {
+							current[stack[depth - 1]]++;
+						}
+						continue;
+					}
+					int w = mate[target[current[u]]];
+					if (w < 0) {
+						if (dist[u] + 1 == limit) {
+							found = true;
+						} else {
+							current[u]++;
+						}
+					} else if (dist[w] == dist[u] + 1) {
+						stack[depth++] = w;
+					} else {
+						current[u]++;
+					}
+				}
+				if (found) {
+					for (int i = 0; i < depth; i++) {
+						int u = stack[i];
+						int a = current[u];
+						int v = target[a];
+						mate[u] = v;
+						mate[v] = u;
+						mateEdge[u] = edgeOf[a];
+						mateEdge[v] = edgeOf[a];
+						dist[u] = INF;
+					}
+					matched++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Layers the left nodes by alternating distance from the free ones.
+	 *
+	 * @return the length of the shortest augmenting paths, in left nodes, or
+	 *         INF if there is none
+	 */
+	private int layer(int[] dist, int[] queue) {
+		int head = 0;
+		int tail = 0;
+		for (int u = 0; u < dist.length; u++) {
+			if (left[u] && mate[u] < 0) {
+				dist[u] = 0;
+				queue[tail++] = u;
+			} else {
+				dist[u] = INF;
+			}
+		}
+		int limit = INF;
+		while (head < tail) {
+			int u = queue[head++];
+			if (dist[u] + 1 >= limit) {
+				continue;
+			}
+			for (int a = start[u]; a < start[u + 1]; a++) {
+				int w = mate[target[a]];
+				if (w < 0) {
+					limit = dist[u] + 1;
+				} else if (dist[w] == INF) {
+					dist[w] = dist[u] + 1;
+					queue[tail++] = w;
+				}
+			}
+		}
+		return limit;
+	}
+
+	/**
+	 * @return the graph of the matching
+	 */
+	public FrozenGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return the number of edges of the matching
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return true if v is on the left side
+	 */
+	public boolean isLeft(int v) {
+		return left[v];
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return the index of the node matched with v, or -1
+	 */
+	public int mate(int v) {
+		return mate[v];
+	}
+
+	/**
+	 * @return the sorted indices of the edges of the matching
+	 */
+	public int[] edges() {
+		int[] edges = new int[size];
+		int i = 0;
+		for (int u = 0; u < left.length; u++) {
+			if (left[u] && mate[u] >= 0) {
+				edges[i++] = mateEdge[u];
+			}
+		}
+		Arrays.sort(edges);
+		return edges;
+	}
+
+	/**
+	 * Computes a minimum vertex cover: the left nodes not reachable from a free
+	 * left node by an alternating path, and the right nodes that are.
+	 *
+	 * @return the sorted node indices of the cover, as many as size()
+	 */
+	public int[] vertexCover() {
+		int n = left.length;
+		boolean[] reached = new boolean[n];
+		int[] queue = new int[n];
+		int head = 0;
+		int tail = 0;
+		for (int u = 0; u < n; u++) {
+			if (left[u] && mate[u] < 0) {
+				reached[u] = true;
+				queue[tail++] = u;
+			}
+		}
+		while (head < tail) {
+			int u = queue[head++];
+			for (int a = start[u]; a < start[u + 1]; a++) {
+				int v = target[a];
+				if (!reached[v]) {
+					reached[v] = true;
+					// A reached right node is always matched in a maximum matching
+					int w = mate[v];
+					if (!reached[w]) {
+						reached[w] = true;
+						queue[tail++] = w;
+					}
+				}
+			}
+		}
+		int[] cover = new int[size];
+		int i = 0;
+		for (int v = 0; v < n; v++) {
+			if (left[v] != reached[v]) {
+				cover[i++] = v;
+			}
+		}
+		return cover;
+	}
+}
@@ -0,0 +1,119 @@
+package m1graphs2025;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * This class holds the connected components of a FrozenGraph, edge directions
+ * being ignored (weak components of a directed graph).
+ *
+ * The edges are merged in parallel into a ConcurrentUnionFind. Components are
+ * then numbered densely from 0, in the order of their smallest node index.
+ *
+ * @see ConcurrentUnionFind
+ */
+public class Components {
+	private final FrozenGraph graph;
+	private final int[] component;
+	private final int[] sizes;
+
+	private Components(FrozenGraph graph, int[] component, int[] sizes) {
+		this.graph = graph;
+		this.component = component;
+		this.sizes = sizes;
+	}
+
+	/**
+	 * Computes the components of a graph.
+	 *
+	 * @param g the graph
+	 * @return the components of g
+	 */
+	public static Components of(FrozenGraph g) {
+		int n = g.nbNodes();
+		ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+		IntStream.range(0, g.nbEdges()).parallel().forEach(e -> sets.union(g.edgeFrom(e), g.edgeTo(e)));
+
+		// Roots are the smallest node of their set, so they come first
+		int[] component = new int[n];
+		int count = 0;
+		for (int v = 0; v < n; v++) {
+			int root = sets.find(v);
+			component[v] = root == v ? count++ : component[root];
+		}
+		int[] sizes = new int[count];
+		for (int v = 0; v < n; v++) {
+			sizes[component[v]]++;
+		}
+		return new Components(g, component, sizes);
+	}
+
+	/**
+	 * @return the graph of the components
+	 */
+	public FrozenGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return the number of components
+	 */
+	public int count() {
+		return sizes.length;
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return the component of v, in [0, count())
+	 */
+	public int component(int v) {
+		return component[v];
+	}
+
+	/**
+	 * @param c a component
+	 * @return the number of nodes of c
+	 */
+	public int size(int c) {
+		return sizes[c];
+	}
+
+	/**
+	 * @return a copy of the component of every node index
+	 */
+	public int[] components() {
+		return Arrays.copyOf(component, component.length);
+	}
+
+	/**
+	 * @return a copy of the size of every component
+	 */
+	public int[] sizes() {
+		return Arrays.copyOf(sizes, sizes.length);
+	}
+
+	/**
+	 * @param u the index of a node
+	 * @param v the index of another node
+	 * @return true if there is a path between u and v
+	 */
+	public boolean connected(int u, int v) {
+		return component[u] == component[v];
+	}
+
+	/**
+	 * @return the nodes of every component, sorted by id
+	 */
+	public List<List<Node>> toNodeLists() {
+		List<List<Node>> lists = new ArrayList<>(sizes.length);
+		for (int c = 0; c < sizes.length; c++) {
+			lists.add(new ArrayList<>(sizes[c]));
+		}
+		for (int v = 0; v < component.length; v++) {
+			lists.get(component[v]).add(graph.node(v));
+		}
+		return lists;
+	}
+}
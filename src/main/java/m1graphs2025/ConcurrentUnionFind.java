@@ -0,0 +1,103 @@
+package m1graphs2025;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * This class represents a lock-free union-find structure over the integers in
+ * [0, size), which can be used by several threads at once.
+ *
+ * Two roots are linked with a compare-and-set, the root with the larger index
+ * always being put under the other one, so the links cannot form a cycle and
+ * the root of every set ends up being its smallest element. Finds halve the
+ * paths they walk with compare-and-sets too; a failed one only means another
+ * thread already shortened the path.
+ */
+public class ConcurrentUnionFind {
+	private final AtomicIntegerArray parent;
+
+	/**
+	 * Creates a structure where every element is alone in its set
+	 *
+	 * @param size the number of elements
+	 */
+	public ConcurrentUnionFind(int size) {
+		this.parent = new AtomicIntegerArray(size);
+		for (int i = 0; i < size; i++) {
+			parent.set(i, i);
+		}
+	}
+
+	/**
+	 * @return the number of elements
+	 */
+	public int size() {
+		return parent.length();
+	}
+
+	/**
+	 * Finds the root of the set of an element.
+	 *
+	 * The result is exact when no union runs at the same time.
+	 *
+	 * @param x an element
+	 * @return the smallest element of the set of x
+	 */
+	public int find(int x) {
+		while (true) {
+			int p = parent.get(x);
+			if (p == x) {
+				return x;
+			}
+			int gp = parent.get(p);
+			if (gp != p) {
+				parent.compareAndSet(x, p, gp);
+			}
+			x = gp;
+		}
+	}
+
+	/**
+	 * Merges the sets of two elements.
+	 *
+	 * @param x an element
+	 * @param y another element
+	 * @return true if the sets were different
+	 */
+	public boolean union(int x, int y) {
+		while (true) {
+			x = find(x);
+			y = find(y);
+			if (x == y) {
+				return false;
+			}
+			if (x > y) {
+				int tmp = x;
+				x = y;
+				y = tmp;
+			}
+			// Fails if y stopped being a root in the meantime
+			if (parent.compareAndSet(y, y, x)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * @param x an element
+	 * @param y another element
+	 * @return true if both elements are in the same set
+	 */
+	public boolean sameSet(int x, int y) {
+		while (true) {
+			x = find(x);
+			y = find(y);
+			if (x == y) {
+				return true;
+			}
+			// x may have been linked while y was found
+			if (parent.get(x) == x) {
+				return false;
+			}
+		}
+	}
+}
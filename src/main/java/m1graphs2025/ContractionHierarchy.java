@@ -0,0 +1,587 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * This class represents a contraction hierarchy of a static weighted graph,
+ * used to answer shortest-path queries while exploring only a few nodes.
+ *
+ * The preprocessing contracts the nodes one by one, by increasing priority
+ * (edge difference plus number of contracted neighbours, updated lazily). When
+ * a node v is contracted, a shortcut u -> w is added for every pair of arcs
+ * u -> v -> w unless a bounded witness search finds a path from u to w avoiding
+ * v that is not longer. The initial priorities are computed in parallel.
+ *
+ * A query runs a bidirectional Dijkstra which only follows arcs going to
+ * nodes of higher rank, and the shortcuts of the path are unpacked into the
+ * original edges.
+ *
+ * Edge weights must not be negative, unweighted edges count as 1.
+ */
+public class ContractionHierarchy {
+	/**
+	 * Number of nodes a witness search may settle before giving up (and adding
+	 * the shortcut)
+	 */
+	private static final int WITNESS_SETTLE_LIMIT = 500;
+
+	private final FrozenGraph graph;
+	private final int[] rank;
+
+	// Arcs: original ones (edge >= 0) then shortcuts (edge == -1)
+	private int nbArcs;
+	private int[] arcFrom;
+	private int[] arcTo;
+	private long[] arcWeight;
+	private int[] arcEdge;
+	private int[] arcFirst;
+	private int[] arcSecond;
+
+	// Upward arcs by source, and downward arcs by target
+	private int[] upStart;
+	private int[] upArc;
+	private int[] downStart;
+	private int[] downArc;
+
+	private ContractionHierarchy(FrozenGraph graph) {
+		this.graph = graph;
+		int n = graph.nbNodes();
+		this.rank = new int[n];
+		int capacity = Math.max(16, graph.nbArcs() * 2);
+		arcFrom = new int[capacity];
+		arcTo = new int[capacity];
+		arcWeight = new long[capacity];
+		arcEdge = new int[capacity];
+		arcFirst = new int[capacity];
+		arcSecond = new int[capacity];
+	}
+
+	/**
+	 * Builds the contraction hierarchy of a graph.
+	 *
+	 * @param g the graph
+	 * @return the contraction hierarchy
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 */
+	public static ContractionHierarchy build(FrozenGraph g) {
+		g.requireNonNegativeWeights();
+		ContractionHierarchy ch = new ContractionHierarchy(g);
+		new Builder(ch).run();
+		ch.buildSearchGraphs();
+		return ch;
+	}
+
+	private int addArc(int from, int to, long weight, int edge, int first, int second) {
+		if (nbArcs == arcFrom.length) {
+			int capacity = nbArcs * 2;
+			arcFrom = Arrays.copyOf(arcFrom, capacity);
+			arcTo = Arrays.copyOf(arcTo, capacity);
+			arcWeight = Arrays.copyOf(arcWeight, capacity);
+			arcEdge = Arrays.copyOf(arcEdge, capacity);
+			arcFirst = Arrays.copyOf(arcFirst, capacity);
+			arcSecond = Arrays.copyOf(arcSecond, capacity);
+		}
+		arcFrom[nbArcs] = from;
+		arcTo[nbArcs] = to;
+		arcWeight[nbArcs] = weight;
+		arcEdge[nbArcs] = edge;
+		arcFirst[nbArcs] = first;
+		arcSecond[nbArcs] = second;
+		return nbArcs++;
+	}
+
+	private void buildSearchGraphs() {
+		int n = graph.nbNodes();
+		upStart = new int[n + 1];
+		downStart = new int[n + 1];
+		for (int a = 0; a < nbArcs; a++) {
+			if (rank[arcTo[a]] > rank[arcFrom[a]]) {
+				upStart[arcFrom[a] + 1]++;
+			} else {
+				downStart[arcTo[a] + 1]++;
+			}
+		}
+		for (int v = 0; v < n; v++) {
+			upStart[v + 1] += upStart[v];
+			downStart[v + 1] += downStart[v];
+		}
+		upArc = new int[upStart[n]];
+		downArc = new int[downStart[n]];
+		int[] upPos = Arrays.copyOf(upStart, n);
+		int[] downPos = Arrays.copyOf(downStart, n);
+		for (int a = 0; a < nbArcs; a++) {
+			if (rank[arcTo[a]] > rank[arcFrom[a]]) {
+				upArc[upPos[arcFrom[a]]++] = a;
+			} else {
+				downArc[downPos[arcTo[a]]++] = a;
+			}
+		}
+	}
+
+	/**
+	 * @return the graph of the hierarchy
+	 */
+	public FrozenGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return the contraction rank of v, from 0 to nbNodes() - 1
+	 */
+	public int rank(int v) {
+		return rank[v];
+	}
+
+	/**
+	 * @return the number of shortcuts added by the preprocessing
+	 */
+	public int nbShortcuts() {
+		int count = 0;
+		for (int a = 0; a < nbArcs; a++) {
+			if (arcEdge[a] < 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Creates a query engine on this hierarchy.
+	 *
+	 * @return a new query engine, with its own buffers
+	 */
+	public Query newQuery() {
+		return new Query();
+	}
+
+	/**
+	 * Contracts the nodes and adds the shortcuts to the hierarchy.
+	 */
+	private static final class Builder {
+		private final ContractionHierarchy ch;
+		private final int n;
+		private final IntList[] out;
+		private final IntList[] in;
+		private final boolean[] contracted;
+		private final int[] deletedNeighbours;
+		private final int[] mark;
+		private int markStamp;
+
+		Builder(ContractionHierarchy ch) {
+			this.ch = ch;
+			FrozenGraph g = ch.graph;
+			this.n = g.nbNodes();
+			this.out = new IntList[n];
+			this.in = new IntList[n];
+			this.contracted = new boolean[n];
+			this.deletedNeighbours = new int[n];
+			this.mark = new int[n];
+			for (int v = 0; v < n; v++) {
+				out[v] = new IntList(g.outDegree(v));
+				in[v] = new IntList(g.inDegree(v));
+			}
+			for (int u = 0; u < n; u++) {
+				for (int a = g.outBegin(u); a < g.outEnd(u); a++) {
+					int v = g.target(a);
+					if (v != u) {
+						int arc = ch.addArc(u, v, g.outWeight(a), g.outEdge(a), -1, -1);
+						out[u].add(arc);
+						in[v].add(arc);
+					}
+				}
+			}
+		}
+
+		void run() {
+			// Initial priorities, in parallel with one witness search per thread
+			ThreadLocal<Witness> witnesses = ThreadLocal.withInitial(() -> new Witness(n));
+			long[] priorities = new long[n];
+			IntStream.range(0, n).parallel().forEach(v -> priorities[v] = priority(v, witnesses.get()));
+
+			IndexedDaryHeap queue = new IndexedDaryHeap(n, 4);
+			for (int v = 0; v < n; v++) {
+				queue.offer(v, priorities[v]);
+			}
+			Witness witness = new Witness(n);
+			int order = 0;
+			while (!queue.isEmpty()) {
+				int v = queue.poll();
+				// Lazy update: contract v only if it is still the best candidate
+				long p = priority(v, witness);
+				if (!queue.isEmpty() && p > queue.peekKey()) {
+					queue.offer(v, p);
+					continue;
+				}
+				contract(v, witness, false);
+				contracted[v] = true;
+				ch.rank[v] = order++;
+				IntList neighbours = neighbours(v);
+				for (int i = 0; i < neighbours.size; i++) {
+					deletedNeighbours[neighbours.data[i]]++;
+				}
+				for (int i = 0; i < neighbours.size; i++) {
+					int w = neighbours.data[i];
+					queue.update(w, priority(w, witness));
+				}
+			}
+		}
+
+		/**
+		 * Lists once every remaining neighbour of v.
+		 */
+		private IntList neighbours(int v) {
+			IntList lst = new IntList();
+			markStamp++;
+			for (int i = 0; i < out[v].size; i++) {
+				addNeighbour(lst, ch.arcTo[out[v].data[i]]);
+			}
+			for (int i = 0; i < in[v].size; i++) {
+				addNeighbour(lst, ch.arcFrom[in[v].data[i]]);
+			}
+			return lst;
+		}
+
+		private void addNeighbour(IntList lst, int w) {
+			if (!contracted[w] && mark[w] != markStamp) {
+				mark[w] = markStamp;
+				lst.add(w);
+			}
+		}
+
+		private long priority(int v, Witness witness) {
+			int shortcuts = contract(v, witness, true);
+			int removed = 0;
+			for (int i = 0; i < out[v].size; i++) {
+				if (!contracted[ch.arcTo[out[v].data[i]]]) {
+					removed++;
+				}
+			}
+			for (int i = 0; i < in[v].size; i++) {
+				if (!contracted[ch.arcFrom[in[v].data[i]]]) {
+					removed++;
+				}
+			}
+			return (long) shortcuts - removed + deletedNeighbours[v];
+		}
+
+		/**
+		 * Finds (and adds unless simulating) the shortcuts needed to contract v.
+		 *
+		 * @return the number of shortcuts
+		 */
+		private int contract(int v, Witness witness, boolean simulate) {
+			IntList inArcs = bestArcs(in[v], v, false, witness);
+			IntList outArcs = bestArcs(out[v], v, true, witness);
+			if (inArcs.size == 0 || outArcs.size == 0) {
+				return 0;
+			}
+			long maxOut = 0;
+			for (int j = 0; j < outArcs.size; j++) {
+				maxOut = Math.max(maxOut, ch.arcWeight[outArcs.data[j]]);
+			}
+
+			int count = 0;
+			for (int i = 0; i < inArcs.size; i++) {
+				int inArc = inArcs.data[i];
+				int u = ch.arcFrom[inArc];
+				long inWeight = ch.arcWeight[inArc];
+				witness.search(this, u, v, inWeight + maxOut);
+				for (int j = 0; j < outArcs.size; j++) {
+					int outArc = outArcs.data[j];
+					int w = ch.arcTo[outArc];
+					if (w == u) {
+						continue;
+					}
+					long viaV = inWeight + ch.arcWeight[outArc];
+					if (witness.distance(w) <= viaV) {
+						continue;
+					}
+					count++;
+					if (!simulate) {
+						int arc = ch.addArc(u, w, viaV, -1, inArc, outArc);
+						out[u].add(arc);
+						in[w].add(arc);
+					}
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * Keeps the lightest live arc to every neighbour of v.
+		 */
+		private IntList bestArcs(IntList arcs, int v, boolean outgoing, Witness witness) {
+			IntList best = new IntList();
+			int[] slot = witness.slot;
+			int stamp = ++witness.slotStamp;
+			for (int i = 0; i < arcs.size; i++) {
+				int a = arcs.data[i];
+				int w = outgoing ? ch.arcTo[a] : ch.arcFrom[a];
+				if (contracted[w] || w == v) {
+					continue;
+				}
+				if (witness.slotMark[w] != stamp) {
+					witness.slotMark[w] = stamp;
+					slot[w] = best.size;
+					best.add(a);
+				} else if (ch.arcWeight[a] < ch.arcWeight[best.data[slot[w]]]) {
+					best.data[slot[w]] = a;
+				}
+			}
+			return best;
+		}
+	}
+
+	/**
+	 * Bounded Dijkstra on the remaining graph, avoiding the node being contracted.
+	 */
+	private static final class Witness {
+		private final long[] dist;
+		private final int[] stamp;
+		private final IndexedDaryHeap heap;
+		private int query;
+		final int[] slot;
+		final int[] slotMark;
+		int slotStamp;
+
+		Witness(int n) {
+			dist = new long[n];
+			stamp = new int[n];
+			heap = new IndexedDaryHeap(n, 4);
+			slot = new int[n];
+			slotMark = new int[n];
+		}
+
+		void search(Builder b, int source, int avoided, long maxCost) {
+			query++;
+			heap.clear();
+			stamp[source] = query;
+			dist[source] = 0;
+			heap.offer(source, 0);
+			int settled = 0;
+			while (!heap.isEmpty() && settled < WITNESS_SETTLE_LIMIT) {
+				int u = heap.poll();
+				settled++;
+				if (dist[u] > maxCost) {
+					break;
+				}
+				IntList arcs = b.out[u];
+				for (int i = 0; i < arcs.size; i++) {
+					int a = arcs.data[i];
+					int w = b.ch.arcTo[a];
+					if (w == avoided || b.contracted[w]) {
+						continue;
+					}
+					long alt = dist[u] + b.ch.arcWeight[a];
+					if (stamp[w] != query || alt < dist[w]) {
+						stamp[w] = query;
+						dist[w] = alt;
+						heap.offer(w, alt);
+					}
+				}
+			}
+		}
+
+		long distance(int v) {
+			return stamp[v] == query ? dist[v] : ShortestPaths.INFINITY;
+		}
+	}
+
+	/**
+	 * This class answers shortest-path queries on a ContractionHierarchy.
+	 *
+	 * An instance keeps its buffers between queries. It is not thread-safe, but
+	 * several instances can share the same hierarchy.
+	 */
+	public final class Query {
+		private final int[] stampF;
+		private final int[] stampB;
+		private final long[] distF;
+		private final long[] distB;
+		private final int[] arcF;
+		private final int[] arcB;
+		private final IndexedDaryHeap heapF;
+		private final IndexedDaryHeap heapB;
+		private int query;
+		private int settled;
+		private long lastDistance = ShortestPaths.INFINITY;
+
+		private Query() {
+			int n = graph.nbNodes();
+			stampF = new int[n];
+			stampB = new int[n];
+			distF = new long[n];
+			distB = new long[n];
+			arcF = new int[n];
+			arcB = new int[n];
+			heapF = new IndexedDaryHeap(n, 4);
+			heapB = new IndexedDaryHeap(n, 4);
+		}
+
+		/**
+		 * @return the number of nodes settled by the last query
+		 */
+		public int settledNodes() {
+			return settled;
+		}
+
+		/**
+		 * @return the length of the path found by the last query, or
+		 *         ShortestPaths.INFINITY if there was none
+		 */
+		public long lastDistance() {
+			return lastDistance;
+		}
+
+		/**
+		 * Computes the distance between two nodes.
+		 *
+		 * @param source the index of the source node
+		 * @param target the index of the target node
+		 * @return the distance, or ShortestPaths.INFINITY if there is no path
+		 */
+		public long distance(int source, int target) {
+			search(source, target);
+			return lastDistance;
+		}
+
+		/**
+		 * Computes a shortest path between two nodes.
+		 *
+		 * @param source the index of the source node
+		 * @param target the index of the target node
+		 * @return the edge indices of the path in the original graph (empty if
+		 *         source == target), or null if there is no path
+		 */
+		public int[] edgePath(int source, int target) {
+			int meet = search(source, target);
+			if (meet < 0) {
+				return null;
+			}
+			IntList edges = new IntList();
+			IntList stack = new IntList();
+			// Forward half, from the source to the meeting node
+			IntList half = new IntList();
+			for (int v = meet; v != source; v = arcFrom[arcF[v]]) {
+				half.add(arcF[v]);
+			}
+			for (int i = half.size - 1; i >= 0; i--) {
+				unpack(half.data[i], stack, edges);
+			}
+			// Backward half, from the meeting node to the target
+			for (int v = meet; v != target; v = arcTo[arcB[v]]) {
+				unpack(arcB[v], stack, edges);
+			}
+			return edges.toArray();
+		}
+
+		/**
+		 * Computes a shortest path between two nodes.
+		 *
+		 * @param source the index of the source node
+		 * @param target the index of the target node
+		 * @return the original edges of the path, or null if there is no path
+		 */
+		public List<Edge> path(int source, int target) {
+			int[] edges = edgePath(source, target);
+			return edges == null ? null : graph.toEdges(edges);
+		}
+
+		private void unpack(int arc, IntList stack, IntList edges) {
+			stack.clear();
+			stack.add(arc);
+			while (stack.size > 0) {
+				int a = stack.data[--stack.size];
+				if (arcEdge[a] >= 0) {
+					edges.add(arcEdge[a]);
+				} else {
+					stack.add(arcSecond[a]);
+					stack.add(arcFirst[a]);
+				}
+			}
+		}
+
+		/**
+		 * Runs the upward bidirectional search.
+		 *
+		 * @return the meeting node of the best path, or -1 if there is no path
+		 */
+		private int search(int source, int target) {
+			query++;
+			settled = 0;
+			heapF.clear();
+			heapB.clear();
+			stampF[source] = query;
+			distF[source] = 0;
+			heapF.offer(source, 0);
+			stampB[target] = query;
+			distB[target] = 0;
+			heapB.offer(target, 0);
+
+			long best = ShortestPaths.INFINITY;
+			int meet = -1;
+			while (!heapF.isEmpty() || !heapB.isEmpty()) {
+				// Each direction stops once its smallest key cannot improve the best
+				if (!heapF.isEmpty() && heapF.peekKey() >= best) {
+					heapF.clear();
+				}
+				if (!heapB.isEmpty() && heapB.peekKey() >= best) {
+					heapB.clear();
+				}
+				boolean forward;
+				if (heapF.isEmpty() && heapB.isEmpty()) {
+					break;
+				} else if (heapF.isEmpty()) {
+					forward = false;
+				} else if (heapB.isEmpty()) {
+					forward = true;
+				} else {
+					forward = heapF.peekKey() <= heapB.peekKey();
+				}
+
+				if (forward) {
+					int u = heapF.poll();
+					settled++;
+					if (stampB[u] == query && distF[u] + distB[u] < best) {
+						best = distF[u] + distB[u];
+						meet = u;
+					}
+					for (int i = upStart[u]; i < upStart[u + 1]; i++) {
+						int a = upArc[i];
+						int w = arcTo[a];
+						long alt = distF[u] + arcWeight[a];
+						if (stampF[w] != query || alt < distF[w]) {
+							stampF[w] = query;
+							distF[w] = alt;
+							arcF[w] = a;
+							heapF.offer(w, alt);
+						}
+					}
+				} else {
+					int u = heapB.poll();
+					settled++;
+					if (stampF[u] == query && distF[u] + distB[u] < best) {
+						best = distF[u] + distB[u];
+						meet = u;
+					}
+					for (int i = downStart[u]; i < downStart[u + 1]; i++) {
+						int a = downArc[i];
+						int w = arcFrom[a];
+						long alt = distB[u] + arcWeight[a];
+						if (stampB[w] != query || alt < distB[w]) {
+							stampB[w] = query;
+							distB[w] = alt;
+							arcB[w] = a;
+							heapB.offer(w, alt);
+						}
+					}
+				}
+			}
+			lastDistance = best;
+			return meet;
+		}
+	}
+}
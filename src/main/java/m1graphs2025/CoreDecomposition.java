@@ -0,0 +1,192 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+
+/**
+ * This class holds the core numbers of the nodes of a FrozenGraph, computed by
+ * peeling with the Batagelj–Zaversnik bucket algorithm in O(n + m).
+ *
+ * The k-core is the largest subgraph where every node has a degree of at
+ * least k, and the core number of a node is the largest k such that it is in
+ * the k-core. Nodes are kept sorted by current degree in a single array, so
+ * removing the node of smallest degree and lowering the degree of its
+ * neighbours takes constant time each.
+ *
+ * For a directed graph the degree can be the in-degree, the out-degree or
+ * their sum. Parallel edges count once each and self-loops are ignored.
+ */
+public class CoreDecomposition {
+	/**
+	 * Degree used for the peeling of a directed graph
+	 */
+	public enum Degree {
+		IN, OUT, TOTAL
+	}
+
+	private final FrozenGraph graph;
+	private final int[] core;
+	private final int[] order;
+
+	private CoreDecomposition(FrozenGraph graph, int[] core, int[] order) {
+		this.graph = graph;
+		this.core = core;
+		this.order = order;
+	}
+
+	/**
+	 * Computes the core numbers with the total degree, which is simply the
+	 * degree for an undirected graph.
+	 *
+	 * @param g the graph
+	 * @return the core decomposition of g
+	 */
+	public static CoreDecomposition of(FrozenGraph g) {
+		return of(g, Degree.TOTAL);
+	}
+
+	/**
+	 * Computes the core numbers.
+	 *
+	 * @param g      the graph
+	 * @param degree the degree to use, ignored for an undirected graph
+	 * @return the core decomposition of g
+	 */
+	public static CoreDecomposition of(FrozenGraph g, Degree degree) {
+		int n = g.nbNodes();
+		boolean out = !g.isDirected() || degree != Degree.IN;
+		boolean in = g.isDirected() && degree != Degree.OUT;
+
+		int[] deg = new int[n];
+		int maxDeg = 0;
+		for (int v = 0; v < n; v++) {
+			if (out) {
+				for (int a = g.outBegin(v); a < g.outEnd(v); a++) {
+					if (g.target(a) != v) {
+						deg[v]++;
+					}
+				}
+			}
+			if (in) {
+				for (int a = g.inBegin(v); a < g.inEnd(v); a++) {
+					if (g.source(a) != v) {
+						deg[v]++;
+					}
+				}
+			}
+			maxDeg = Math.max(maxDeg, deg[v]);
+		}
+
+		// Bucket sort of the nodes by degree
+		int[] bin = new int[maxDeg + 1];
+		for (int v = 0; v < n; v++) {
+			bin[deg[v]]++;
+		}
+		int first = 0;
+		for (int d = 0; d <= maxDeg; d++) {
+			int count = bin[d];
+			bin[d] = first;
+			first += count;
+		}
+		int[] vert = new int[n];
+		int[] pos = new int[n];
+		for (int v = 0; v < n; v++) {
+			pos[v] = bin[deg[v]]++;
+			vert[pos[v]] = v;
+		}
+		for (int d = maxDeg; d > 0; d--) {
+			bin[d] = bin[d - 1];
+		}
+		bin[0] = 0;
+
+		// Peeling: deg[v] becomes the core number of v once v is reached
+		for (int i = 0; i < n; i++) {
+			int v = vert[i];
+			// An out-arc of v counts in the in-degree of its target and conversely
+			if (in) {
+				for (int a = g.outBegin(v); a < g.outEnd(v); a++) {
+					lower(g.target(a), v, deg, bin, pos, vert);
+				}
+			}
+			if (out) {
+				for (int a = g.inBegin(v); a < g.inEnd(v); a++) {
+					lower(g.source(a), v, deg, bin, pos, vert);
+				}
+			}
+		}
+		return new CoreDecomposition(g, deg, vert);
+	}
+
+	/**
+	 * Lowers the degree of u, still to be peeled, by moving it to the start of
+	 * its bucket and shrinking the bucket
+	 */
+	private static void lower(int u, int v, int[] deg, int[] bin, int[] pos, int[] vert) {
+		if (u == v || deg[u] <= deg[v]) {
+			return;
+		}
+		int du = deg[u];
+		int pu = pos[u];
+		int pw = bin[du];
+		int w = vert[pw];
+		if (u != w) {
+			pos[u] = pw;
+			vert[pu] = w;
+			pos[w] = pu;
+			vert[pw] = u;
+		}
+		bin[du]++;
+		deg[u]--;
+	}
+
+	/**
+	 * @return the graph of the decomposition
+	 */
+	public FrozenGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return the core number of v
+	 */
+	public int coreNumber(int v) {
+		return core[v];
+	}
+
+	/**
+	 * @return a copy of the core number of every node index
+	 */
+	public int[] coreNumbers() {
+		return Arrays.copyOf(core, core.length);
+	}
+
+	/**
+	 * @return the largest core number, 0 for an empty graph
+	 */
+	public int maxCore() {
+		int max = 0;
+		for (int c : core) {
+			max = Math.max(max, c);
+		}
+		return max;
+	}
+
+	/**
+	 * Gives the order in which the nodes were peeled, by non-decreasing core
+	 * number. Every node has at most its core number of neighbours peeled after
+	 * it.
+	 *
+	 * @return a copy of the node indices in peeling order
+	 */
+	public int[] peelOrder() {
+		return Arrays.copyOf(order, order.length);
+	}
+
+	/**
+	 * @param k a core number
+	 * @return a view of the k-core, the nodes of core number at least k
+	 */
+	public SubgraphView kCore(int k) {
+		return new SubgraphView(graph, v -> core[v] >= k);
+	}
+}
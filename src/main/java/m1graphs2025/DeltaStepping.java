@@ -0,0 +1,143 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Computes single-source shortest paths on a FrozenGraph with the parallel
+ * delta-stepping algorithm.
+ *
+ * Nodes are kept in buckets of width delta according to their tentative
+ * distance. The arcs of weight at most delta (light) of the nodes of the
+ * current bucket are relaxed in parallel until the bucket stays empty, then
+ * the heavier arcs of every node removed from the bucket are relaxed once.
+ * Distances are lowered with compare-and-set, so the result is the same as
+ * with ShortestPaths.
+ *
+ * Edge weights must not be negative, unweighted edges count as 1.
+ *
+ * @see ShortestPaths
+ */
+public class DeltaStepping {
+	/**
+	 * Number of frontier nodes relaxed by one parallel task
+	 */
+	private static final int CHUNK_SIZE = 512;
+
+	private DeltaStepping() {
+	}
+
+	/**
+	 * Computes the distances from a source to every node.
+	 *
+	 * @param g      the graph
+	 * @param source the index of the source node
+	 * @param delta  the width of the buckets, at least 1
+	 * @return the distances by node index, ShortestPaths.INFINITY for the nodes
+	 *         that cannot be reached
+	 * @throws IllegalArgumentException if delta < 1 or an edge has a negative
+	 *                                  weight
+	 */
+	public static long[] distances(FrozenGraph g, int source, int delta) {
+		if (delta < 1) {
+			throw new IllegalArgumentException("Delta must be at least 1");
+		}
+		g.requireNonNegativeWeights();
+		int n = g.nbNodes();
+		AtomicLongArray dist = new AtomicLongArray(n);
+		for (int v = 0; v < n; v++) {
+			dist.set(v, ShortestPaths.INFINITY);
+		}
+		dist.set(source, 0);
+
+		TreeMap<Long, IntList> buckets = new TreeMap<>();
+		buckets.put(0L, new IntList());
+		buckets.get(0L).add(source);
+
+		int[] phaseStamp = new int[n];
+		long[] settledBucket = new long[n];
+		Arrays.fill(settledBucket, -1);
+		int phase = 0;
+
+		while (!buckets.isEmpty()) {
+			long b = buckets.firstKey();
+			IntList removed = new IntList();
+			IntList current;
+			while ((current = buckets.remove(b)) != null) {
+				// Lazy deletion: skip stale entries and duplicates
+				phase++;
+				IntList frontier = new IntList();
+				for (int i = 0; i < current.size; i++) {
+					int v = current.data[i];
+					if (dist.get(v) / delta == b && phaseStamp[v] != phase) {
+						phaseStamp[v] = phase;
+						frontier.add(v);
+						if (settledBucket[v] != b) {
+							settledBucket[v] = b;
+							removed.add(v);
+						}
+					}
+				}
+				insert(buckets, dist, delta, relax(g, dist, frontier, delta, true));
+			}
+			insert(buckets, dist, delta, relax(g, dist, removed, delta, false));
+		}
+
+		long[] res = new long[n];
+		for (int v = 0; v < n; v++) {
+			res[v] = dist.get(v);
+		}
+		return res;
+	}
+
+	/**
+	 * Relaxes the light or heavy arcs of a set of nodes in parallel.
+	 *
+	 * @return the buffers of the nodes whose distance was lowered
+	 */
+	private static List<IntList> relax(FrozenGraph g, AtomicLongArray dist, IntList nodes, int delta,
+			boolean light) {
+		int nbChunks = (nodes.size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		IntStream chunks = IntStream.range(0, nbChunks);
+		if (nbChunks > 1) {
+			chunks = chunks.parallel();
+		}
+		return chunks.mapToObj(c -> {
+			IntList improved = new IntList();
+			int end = Math.min(nodes.size, (c + 1) * CHUNK_SIZE);
+			for (int i = c * CHUNK_SIZE; i < end; i++) {
+				int u = nodes.data[i];
+				long du = dist.get(u);
+				for (int a = g.outBegin(u); a < g.outEnd(u); a++) {
+					int w = g.outWeight(a);
+					if ((w <= delta) != light) {
+						continue;
+					}
+					int v = g.target(a);
+					long alt = du + w;
+					long cur;
+					while (alt < (cur = dist.get(v))) {
+						if (dist.compareAndSet(v, cur, alt)) {
+							improved.add(v);
+							break;
+						}
+					}
+				}
+			}
+			return improved;
+		}).toList();
+	}
+
+	private static void insert(TreeMap<Long, IntList> buckets, AtomicLongArray dist, int delta,
+			List<IntList> improved) {
+		for (IntList buffer : improved) {
+			for (int i = 0; i < buffer.size; i++) {
+				int v = buffer.data[i];
+				buckets.computeIfAbsent(dist.get(v) / delta, k -> new IntList()).add(v);
+			}
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package m1graphs2025;
+
+/**
+ * This class holds the result of an all-pairs shortest-path computation as a
+ * dense row-major int matrix: the distance from node i to node j is at
+ * i * nbNodes() + j.
+ *
+ * When predecessors were requested, the matrix also stores, for every pair,
+ * the node before j on a shortest path from i, so that every path can be
+ * rebuilt without storing it.
+ *
+ * @see AllPairsShortestPaths
+ */
+public class DistanceMatrix {
+	/**
+	 * Distance between two nodes with no path
+	 */
+	public static final int INFINITY = Integer.MAX_VALUE;
+
+	private final FrozenGraph graph;
+	private final int n;
+	private final int[] dist;
+	private final int[] pred;
+
+	DistanceMatrix(FrozenGraph graph, int[] dist, int[] pred) {
+		this.graph = graph;
+		this.n = graph.nbNodes();
+		this.dist = dist;
+		this.pred = pred;
+	}
+
+	/**
+	 * @return the graph of the matrix
+	 */
+	public FrozenGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return the number of rows (and columns) of the matrix
+	 */
+	public int nbNodes() {
+		return n;
+	}
+
+	/**
+	 * @param i the index of the source node
+	 * @param j the index of the target node
+	 * @return the distance from i to j, or INFINITY if there is no path
+	 */
+	public int distance(int i, int j) {
+		return dist[i * n + j];
+	}
+
+	/**
+	 * Gives direct access to the matrix, without copying it.
+	 *
+	 * @return the row-major distance array of size nbNodes() * nbNodes()
+	 */
+	public int[] distances() {
+		return dist;
+	}
+
+	/**
+	 * @return true if the paths can be rebuilt
+	 */
+	public boolean hasPredecessors() {
+		return pred != null;
+	}
+
+	/**
+	 * Rebuilds a shortest path.
+	 *
+	 * @param i the index of the source node
+	 * @param j the index of the target node
+	 * @return the node indices of the path from i to j, or null if there is no
+	 *         path
+	 * @throws IllegalStateException if the predecessors were not computed
+	 */
+	public int[] path(int i, int j) {
+		if (pred == null) {
+			throw new IllegalStateException("Predecessors were not computed");
+		}
+		if (dist[i * n + j] == INFINITY) {
+			return null;
+		}
+		int length = 1;
+		for (int v = j; v != i; v = pred[i * n + v]) {
+			length++;
+		}
+		int[] path = new int[length];
+		path[0] = i;
+		for (int v = j, k = length - 1; k > 0; v = pred[i * n + v], k--) {
+			path[k] = v;
+		}
+		return path;
+	}
+}
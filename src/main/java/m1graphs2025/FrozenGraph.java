@@ -0,0 +1,410 @@
+package m1graphs2025;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * This class represents an immutable, index-based snapshot of a Graph
+ *
+ * Nodes are numbered from 0 to nbNodes() - 1 by increasing ID, and the arcs
+ * are stored in compressed (CSR) arrays, both outgoing and incoming, so that
+ * algorithms can run on primitive arrays instead of the adjacency map.
+ *
+ * Every Edge of the graph gets an index from 0 to nbEdges() - 1. For a
+ * directed graph each Edge is one arc. For an UndirectedGraph each Edge gives
+ * two arcs (one per direction, a single one for a self-loop), and the incoming
+ * arcs are the same as the outgoing ones.
+ *
+ * Unweighted edges count as a weight of 1.
+ *
+ * The snapshot does not follow later modifications of the Graph.
+ *
+ * @see Graph#freeze()
+ */
+public final class FrozenGraph {
+	private final Graph graph;
+	private final boolean directed;
+	private final Node[] nodes;
+	private final int[] ids;
+
+	private final Edge[] edges;
+	private final int[] edgeFrom;
+	private final int[] edgeTo;
+	private final int[] edgeWeight;
+
+	private final int[] outStart;
+	private final int[] outTarget;
+	private final int[] outEdge;
+	private final int[] inStart;
+	private final int[] inSource;
+	private final int[] inEdge;
+
+	private FrozenGraph(Graph graph) {
+		this.graph = graph;
+		this.directed = !(graph instanceof UndirectedGraph);
+
+		List<Node> nodeList = new ArrayList<>(graph.adjEdList.keySet());
+		nodeList.sort(null);
+		int n = nodeList.size();
+		nodes = nodeList.toArray(new Node[n]);
+		ids = new int[n];
+		for (int i = 0; i < n; i++) {
+			ids[i] = nodes[i].getId();
+		}
+
+		int m = 0;
+		for (List<Edge> lst : graph.adjEdList.values()) {
+			m += lst.size();
+		}
+		edges = new Edge[m];
+		edgeFrom = new int[m];
+		edgeTo = new int[m];
+		edgeWeight = new int[m];
+		int e = 0;
+		for (int u = 0; u < n; u++) {
+			for (Edge edge : graph.adjEdList.get(nodes[u])) {
+				edges[e] = edge;
+				edgeFrom[e] = u;
+				edgeTo[e] = indexOf(edge.to());
+				edgeWeight[e] = edge.isWeighted() ? edge.getWeight() : 1;
+				e++;
+			}
+		}
+
+		// Counting pass, then filling pass
+		outStart = new int[n + 1];
+		for (e = 0; e < m; e++) {
+			outStart[edgeFrom[e] + 1]++;
+			if (!directed && edgeFrom[e] != edgeTo[e]) {
+				outStart[edgeTo[e] + 1]++;
+			}
+		}
+		for (int u = 0; u < n; u++) {
+			outStart[u + 1] += outStart[u];
+		}
+		outTarget = new int[outStart[n]];
+		outEdge = new int[outStart[n]];
+		int[] pos = Arrays.copyOf(outStart, n);
+		for (e = 0; e < m; e++) {
+			int a = pos[edgeFrom[e]]++;
+			outTarget[a] = edgeTo[e];
+			outEdge[a] = e;
+			if (!directed && edgeFrom[e] != edgeTo[e]) {
+				a = pos[edgeTo[e]]++;
+				outTarget[a] = edgeFrom[e];
+				outEdge[a] = e;
+			}
+		}
+
+		if (!directed) {
+			inStart = outStart;
+			inSource = outTarget;
+			inEdge = outEdge;
+			return;
+		}
+		inStart = new int[n + 1];
+		for (e = 0; e < m; e++) {
+			inStart[edgeTo[e] + 1]++;
+		}
+		for (int u = 0; u < n; u++) {
+			inStart[u + 1] += inStart[u];
+		}
+		inSource = new int[m];
+		inEdge = new int[m];
+		pos = Arrays.copyOf(inStart, n);
+		for (e = 0; e < m; e++) {
+			int a = pos[edgeTo[e]]++;
+			inSource[a] = edgeFrom[e];
+			inEdge[a] = e;
+		}
+	}
+
+	/**
+	 * Builds the snapshot of a graph in O(V log V + E)
+	 *
+	 * @param graph the graph to freeze
+	 * @return the frozen snapshot of graph
+	 * @throws NullPointerException if graph is null
+	 */
+	public static FrozenGraph from(Graph graph) {
+		if (graph == null) {
+			throw new NullPointerException("Graph cannot be null");
+		}
+		return new FrozenGraph(graph);
+	}
+
+	/**
+	 * @return the graph this snapshot was built from
+	 */
+	public Graph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return false if the snapshot comes from an UndirectedGraph
+	 */
+	public boolean isDirected() {
+		return directed;
+	}
+
+	/**
+	 * @return the number of nodes
+	 */
+	public int nbNodes() {
+		return nodes.length;
+	}
+
+	/**
+	 * @return the number of edges of the original graph
+	 */
+	public int nbEdges() {
+		return edges.length;
+	}
+
+	/**
+	 * @return the number of outgoing arcs (twice the non-loop edges if undirected)
+	 */
+	public int nbArcs() {
+		return outTarget.length;
+	}
+
+	/**
+	 * @param index the index of a node
+	 * @return the Node at this index
+	 */
+	public Node node(int index) {
+		return nodes[index];
+	}
+
+	/**
+	 * @param index the index of a node
+	 * @return the ID of the node at this index
+	 */
+	public int id(int index) {
+		return ids[index];
+	}
+
+	/**
+	 * Finds the index of a node
+	 *
+	 * @param n the Node
+	 * @return the index of n, or -1 if n is not in the snapshot
+	 */
+	public int indexOf(Node n) {
+		return indexOf(n.getId());
+	}
+
+	/**
+	 * Finds the index of a node from its ID
+	 *
+	 * @param nodeId the ID of the node
+	 * @return the index of the node, or -1 if it is not in the snapshot
+	 */
+	public int indexOf(int nodeId) {
+		int i = Arrays.binarySearch(ids, nodeId);
+		return i < 0 ? -1 : i;
+	}
+
+	/**
+	 * Finds the index of a node that must be in the snapshot
+	 *
+	 * @param n the Node
+	 * @return the index of n
+	 * @throws NoSuchElementException if n is not in the snapshot
+	 */
+	public int requireIndex(Node n) {
+		int i = indexOf(n.getId());
+		if (i < 0) {
+			throw new NoSuchElementException("Graph does not contain node " + n);
+		}
+		return i;
+	}
+
+	/**
+	 * @param e the index of an edge
+	 * @return the original Edge object
+	 */
+	public Edge edge(int e) {
+		return edges[e];
+	}
+
+	/**
+	 * @param e the index of an edge
+	 * @return the index of the source node of the edge
+	 */
+	public int edgeFrom(int e) {
+		return edgeFrom[e];
+	}
+
+	/**
+	 * @param e the index of an edge
+	 * @return the index of the target node of the edge
+	 */
+	public int edgeTo(int e) {
+		return edgeTo[e];
+	}
+
+	/**
+	 * @param e the index of an edge
+	 * @return the weight of the edge (1 if unweighted)
+	 */
+	public int edgeWeight(int e) {
+		return edgeWeight[e];
+	}
+
+	/**
+	 * @param u the index of a node
+	 * @return the first outgoing arc of u
+	 */
+	public int outBegin(int u) {
+		return outStart[u];
+	}
+
+	/**
+	 * @param u the index of a node
+	 * @return the outgoing arc following the last one of u
+	 */
+	public int outEnd(int u) {
+		return outStart[u + 1];
+	}
+
+	/**
+	 * @param u the index of a node
+	 * @return the number of outgoing arcs of u
+	 */
+	public int outDegree(int u) {
+		return outStart[u + 1] - outStart[u];
+	}
+
+	/**
+	 * @param a an outgoing arc
+	 * @return the index of the node the arc goes to
+	 */
+	public int target(int a) {
+		return outTarget[a];
+	}
+
+	/**
+	 * @param a an outgoing arc
+	 * @return the index of the Edge behind the arc
+	 */
+	public int outEdge(int a) {
+		return outEdge[a];
+	}
+
+	/**
+	 * @param a an outgoing arc
+	 * @return the weight of the arc (1 if unweighted)
+	 */
+	public int outWeight(int a) {
+		return edgeWeight[outEdge[a]];
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return the first incoming arc of v
+	 */
+	public int inBegin(int v) {
+		return inStart[v];
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return the incoming arc following the last one of v
+	 */
+	public int inEnd(int v) {
+		return inStart[v + 1];
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return the number of incoming arcs of v
+	 */
+	public int inDegree(int v) {
+		return inStart[v + 1] - inStart[v];
+	}
+
+	/**
+	 * @param a an incoming arc
+	 * @return the index of the node the arc comes from
+	 */
+	public int source(int a) {
+		return inSource[a];
+	}
+
+	/**
+	 * @param a an incoming arc
+	 * @return the index of the Edge behind the arc
+	 */
+	public int inEdge(int a) {
+		return inEdge[a];
+	}
+
+	/**
+	 * @param a an incoming arc
+	 * @return the weight of the arc (1 if unweighted)
+	 */
+	public int inWeight(int a) {
+		return edgeWeight[inEdge[a]];
+	}
+
+	/**
+	 * Checks that no edge has a negative weight
+	 *
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 */
+	void requireNonNegativeWeights() {
+		for (int e = 0; e < edgeWeight.length; e++) {
+			if (edgeWeight[e] < 0) {
+				throw new IllegalArgumentException("Negative weight on edge " + edges[e]);
+			}
+		}
+	}
+
+	/**
+	 * Converts an array of node indices to the matching nodes
+	 *
+	 * @param indices node indices
+	 * @return the list of the matching Node objects
+	 */
+	public List<Node> toNodes(int[] indices) {
+		List<Node> lst = new ArrayList<>(indices.length);
+		for (int i : indices) {
+			lst.add(nodes[i]);
+		}
+		return lst;
+	}
+
+	/**
+	 * Converts an array of edge indices to the matching edges
+	 *
+	 * @param indices edge indices
+	 * @return the list of the matching Edge objects
+	 */
+	public List<Edge> toEdges(int[] indices) {
+		List<Edge> lst = new ArrayList<>(indices.length);
+		for (int e : indices) {
+			lst.add(edges[e]);
+		}
+		return lst;
+	}
+
+	/**
+	 * Associates every node to a value computed from its index
+	 *
+	 * @param value the function giving the value of a node index
+	 * @return a map from every node to its value
+	 */
+	public <T> Map<Node, T> toMap(IntFunction<T> value) {
+		Map<Node, T> map = new HashMap<>();
+		for (int i = 0; i < nodes.length; i++) {
+			map.put(nodes[i], value.apply(i));
+		}
+		return map;
+	}
+}
@@ -12,6 +12,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -1096,6 +1097,280 @@ public class Graph {
 		return time;
 	}
 
+	// Graph Algorithms //
+
+	/**
+	 * Creates an index-based snapshot of the graph for the algorithms working on
+	 * primitive arrays.
+	 *
+	 * @return a FrozenGraph of the current state of the graph
+	 */
+	public FrozenGraph freeze() {
+		return FrozenGraph.from(this);
+	}
+
+	/**
+	 * Computes the topological levels (wavefronts) of the graph.
+	 *
+	 * The nodes of a level only depend on nodes of the previous levels, so each
+	 * level can be scheduled concurrently.
+	 *
+	 * @return the list of levels sorted by node ID, or null if the graph has a
+	 *         cycle
+	 * @throws IllegalArgumentException if the graph is an UndirectedGraph
+	 */
+	public List<List<Node>> topologicalLevels() {
+		FrozenGraph g = freeze();
+		int[][] levels = TopologicalSort.levels(g);
+		if (levels == null) {
+			return null;
+		}
+		List<List<Node>> lst = new ArrayList<>(levels.length);
+		for (int[] level : levels) {
+			lst.add(g.toNodes(level));
+		}
+		return lst;
+	}
+
+	/**
+	 * Computes a topological order of the graph.
+	 *
+	 * @return the nodes in topological order, or null if the graph has a cycle
+	 * @throws IllegalArgumentException if the graph is an UndirectedGraph
+	 */
+	public List<Node> topologicalOrder() {
+		FrozenGraph g = freeze();
+		int[] order = TopologicalSort.order(g);
+		return order == null ? null : g.toNodes(order);
+	}
+
+	/**
+	 * Finds a cycle in the graph.
+	 *
+	 * @return the nodes of a cycle, each one having an edge to the next and the
+	 *         last one an edge to the first, or null if the graph is acyclic
+	 * @throws IllegalArgumentException if the graph is an UndirectedGraph
+	 */
+	public List<Node> findCycle() {
+		FrozenGraph g = freeze();
+		int[] cycle = TopologicalSort.findCycle(g);
+		return cycle == null ? null : g.toNodes(cycle);
+	}
+
+	/**
+	 * Creates a reusable Dijkstra engine on a snapshot of the graph.
+	 *
+	 * @return a ShortestPaths engine for repeated queries
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 */
+	public ShortestPaths shortestPathEngine() {
+		return new ShortestPaths(freeze());
+	}
+
+	/**
+	 * Computes the weighted distances from a node to every reachable node.
+	 *
+	 * Unweighted edges count as 1.
+	 *
+	 * @param source the source Node
+	 * @return a map from every reachable node to its distance
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 * @throws NoSuchElementException   if source is not in the graph
+	 */
+	public Map<Node, Long> shortestDistances(Node source) {
+		ShortestPaths engine = shortestPathEngine();
+		FrozenGraph g = engine.getGraph();
+		engine.run(g.requireIndex(source));
+		Map<Node, Long> distances = new HashMap<>();
+		for (int v = 0; v < g.nbNodes(); v++) {
+			if (engine.isReachable(v)) {
+				distances.put(g.node(v), engine.distance(v));
+			}
+		}
+		return distances;
+	}
+
+	/**
+	 * Computes the weighted distances from a node to every reachable node with
+	 * the parallel delta-stepping algorithm.
+	 *
+	 * Gives the same distances as shortestDistances(source), but uses several
+	 * threads on large graphs. Unweighted edges count as 1.
+	 *
+	 * @param source the source Node
+	 * @param delta  the width of the distance buckets, at least 1
+	 * @return a map from every reachable node to its distance
+	 * @throws IllegalArgumentException if delta < 1 or an edge has a negative
+	 *                                  weight
+	 * @throws NoSuchElementException   if source is not in the graph
+	 */
+	public Map<Node, Long> shortestDistances(Node source, int delta) {
+		FrozenGraph g = freeze();
+		long[] dist = DeltaStepping.distances(g, g.requireIndex(source), delta);
+		Map<Node, Long> distances = new HashMap<>();
+		for (int v = 0; v < g.nbNodes(); v++) {
+			if (dist[v] != ShortestPaths.INFINITY) {
+				distances.put(g.node(v), dist[v]);
+			}
+		}
+		return distances;
+	}
+
+	/**
+	 * Computes a weighted shortest path between two nodes.
+	 *
+	 * Unweighted edges count as 1.
+	 *
+	 * @param from the source Node
+	 * @param to   the target Node
+	 * @return the nodes of the path from source to target, or null if there is
+	 *         no path
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 * @throws NoSuchElementException   if from or to is not in the graph
+	 */
+	public List<Node> shortestPath(Node from, Node to) {
+		ShortestPaths engine = shortestPathEngine();
+		FrozenGraph g = engine.getGraph();
+		int target = g.requireIndex(to);
+		if (!engine.run(g.requireIndex(from), target)) {
+			return null;
+		}
+		return g.toNodes(engine.path(target));
+	}
+
+	/**
+	 * Finds a path with the fewest edges between two nodes, searching from both
+	 * ends at once.
+	 *
+	 * @param from the source Node
+	 * @param to   the target Node
+	 * @return the nodes of the path from source to target, or null if there is
+	 *         no path
+	 * @throws NoSuchElementException if from or to is not in the graph
+	 */
+	public List<Node> bidirectionalPath(Node from, Node to) {
+		FrozenGraph g = freeze();
+		int[] path = new BidirectionalSearch(g).bfs(g.requireIndex(from), g.requireIndex(to));
+		return path == null ? null : g.toNodes(path);
+	}
+
+	/**
+	 * Computes a weighted shortest path between two nodes with a bidirectional
+	 * Dijkstra.
+	 *
+	 * Unweighted edges count as 1.
+	 *
+	 * @param from the source Node
+	 * @param to   the target Node
+	 * @return the nodes of the path from source to target, or null if there is
+	 *         no path
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 * @throws NoSuchElementException   if from or to is not in the graph
+	 */
+	public List<Node> bidirectionalShortestPath(Node from, Node to) {
+		FrozenGraph g = freeze();
+		int[] path = new BidirectionalSearch(g).dijkstra(g.requireIndex(from), g.requireIndex(to));
+		return path == null ? null : g.toNodes(path);
+	}
+
+	/**
+	 * Preprocesses the graph into a contraction hierarchy for fast repeated
+	 * shortest-path queries.
+	 *
+	 * The hierarchy is built on a snapshot and does not follow later
+	 * modifications of the graph.
+	 *
+	 * @return the contraction hierarchy of the graph
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 */
+	public ContractionHierarchy contractionHierarchy() {
+		return ContractionHierarchy.build(freeze());
+	}
+
+	/**
+	 * Computes the shortest distances between every pair of nodes.
+	 *
+	 * Unweighted edges count as 1. The rows and columns of the matrix follow the
+	 * node indices of its FrozenGraph.
+	 *
+	 * @return the distance matrix, with the paths
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 * @throws ArithmeticException      if a distance does not fit in an int
+	 */
+	public DistanceMatrix allPairsShortestPaths() {
+		return AllPairsShortestPaths.compute(freeze(), true);
+	}
+
+	/**
+	 * Computes the weakly connected components, edge directions being ignored.
+	 *
+	 * @return the components, indexed like the nodes of their FrozenGraph
+	 */
+	public Components weakComponents() {
+		return Components.of(freeze());
+	}
+
+	/**
+	 * Computes the PageRank of every node, with a damping of 0.85.
+	 *
+	 * @return the rank of every node, the ranks summing to 1
+	 */
+	public Map<Node, Double> pageRank() {
+		FrozenGraph g = freeze();
+		double[] rank = new PageRank(g).compute();
+		return g.toMap(v -> rank[v]);
+	}
+
+	/**
+	 * Computes the betweenness centrality of every node.
+	 *
+	 * @param weighted true to use the edge weights, unweighted edges counting
+	 *                 as 1
+	 * @return the betweenness of every node
+	 * @throws IllegalArgumentException if weighted and an edge weight is not
+	 *                                  positive
+	 */
+	public Map<Node, Double> betweenness(boolean weighted) {
+		FrozenGraph g = freeze();
+		double[] centrality = Betweenness.compute(g, weighted);
+		return g.toMap(v -> centrality[v]);
+	}
+
+	/**
+	 * Computes a maximum matching of a bipartite graph with the Hopcroft–Karp
+	 * algorithm.
+	 *
+	 * Edge directions are ignored and the two sides are found automatically.
+	 *
+	 * @return the matching, indexed like the nodes of its FrozenGraph
+	 * @throws IllegalArgumentException if the graph is not bipartite
+	 */
+	public BipartiteMatching maximumMatching() {
+		return BipartiteMatching.of(freeze());
+	}
+
+	/**
+	 * Computes the core number of every node.
+	 *
+	 * @param degree the degree used for the peeling
+	 * @return the core decomposition, indexed like the nodes of its FrozenGraph
+	 */
+	public CoreDecomposition coreDecomposition(CoreDecomposition.Degree degree) {
+		return CoreDecomposition.of(freeze(), degree);
+	}
+
+	/**
+	 * Detects communities with a semi-synchronous label propagation, edge
+	 * directions being ignored.
+	 *
+	 * @return the community of every node, numbered from 0
+	 */
+	public Map<Node, Integer> communities() {
+		FrozenGraph g = freeze();
+		int[] community = new LabelPropagation(g).run();
+		return g.toMap(v -> community[v]);
+	}
+
 	// Graph Import and Export //
 
 	/**
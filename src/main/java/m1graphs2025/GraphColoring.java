@@ -0,0 +1,245 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * This class holds a proper colouring of the nodes of an undirected
+ * FrozenGraph: adjacent nodes always have different colours, numbered from 0.
+ *
+ * Every engine gives each node the smallest colour not used by its
+ * neighbours, visiting them by priority according to an Ordering:
+ * <ul>
+ * <li>greedy visits them one by one;</li>
+ * <li>Jones–Plassmann colours in parallel, round after round, the nodes whose
+ * neighbours of higher priority are all coloured, which gives exactly the
+ * greedy colouring;</li>
+ * <li>the speculative engine colours every node in parallel at once, then
+ * recolours the nodes that got the colour of a neighbour of higher priority,
+ * until there is no conflict left.</li>
+ * </ul>
+ *
+ * Self-loops are ignored.
+ */
+public class GraphColoring {
+	/**
+	 * Order in which the nodes are coloured
+	 */
+	public enum Ordering {
+		/**
+		 * By node index
+		 */
+		NATURAL,
+		/**
+		 * By decreasing degree
+		 */
+		LARGEST_FIRST,
+		/**
+		 * Reverse of the k-core peeling order, so that every node has at most its
+		 * core number of neighbours coloured before it
+		 */
+		SMALLEST_LAST
+	}
+
+	private final FrozenGraph graph;
+	private final int[] colors;
+	private final int count;
+
+	private GraphColoring(FrozenGraph graph, int[] colors) {
+		this.graph = graph;
+		this.colors = colors;
+		this.count = Arrays.stream(colors).max().orElse(-1) + 1;
+	}
+
+	/**
+	 * Colours the nodes one by one.
+	 *
+	 * @param g        the graph
+	 * @param ordering the order of the nodes
+	 * @return the colouring of g
+	 * @throws IllegalArgumentException if g is directed
+	 */
+	public static GraphColoring greedy(FrozenGraph g, Ordering ordering) {
+		int[] order = order(g, ordering);
+		int[] colors = new int[g.nbNodes()];
+		Arrays.fill(colors, -1);
+		Forbidden forbidden = new Forbidden();
+		for (int v : order) {
+			colors[v] = forbidden.smallestFree(g, v, colors);
+		}
+		return new GraphColoring(g, colors);
+	}
+
+	/**
+	 * Colours the nodes in parallel with the Jones–Plassmann algorithm. The
+	 * result is the same as with greedy.
+	 *
+	 * @param g        the graph
+	 * @param ordering the priority of the nodes
+	 * @return the colouring of g
+	 * @throws IllegalArgumentException if g is directed
+	 */
+	public static GraphColoring jonesPlassmann(FrozenGraph g, Ordering ordering) {
+		int n = g.nbNodes();
+		int[] rank = rank(order(g, ordering));
+		int[] colors = new int[n];
+		Arrays.fill(colors, -1);
+
+		// Number of neighbours of higher priority still to colour
+		AtomicIntegerArray waiting = new AtomicIntegerArray(n);
+		IntStream.range(0, n).parallel().forEach(v -> {
+			int count = 0;
+			for (int a = g.outBegin(v); a < g.outEnd(v); a++) {
+				if (rank[g.target(a)] < rank[v]) {
+					count++;
+				}
+			}
+			waiting.set(v, count);
+		});
+
+		ThreadLocal<Forbidden> scratch = ThreadLocal.withInitial(Forbidden::new);
+		int[] frontier = IntStream.range(0, n).filter(v -> waiting.get(v) == 0).toArray();
+		while (frontier.length > 0) {
+			// Nodes of the frontier are never adjacent
+			IntStream.of(frontier).parallel()
+					.forEach(v -> colors[v] = scratch.get().smallestFree(g, v, colors));
+			frontier = IntStream.of(frontier).parallel()
+					.flatMap(v -> IntStream.range(g.outBegin(v), g.outEnd(v))
+							.map(g::target)
+							.filter(u -> rank[u] > rank[v] && waiting.decrementAndGet(u) == 0))
+					.toArray();
+		}
+		return new GraphColoring(g, colors);
+	}
+
+	/**
+	 * Colours the nodes speculatively in parallel, then repairs the conflicts.
+	 * It usually needs a few rounds only, but the colours may differ from
+	 * greedy.
+	 *
+	 * @param g        the graph
+	 * @param ordering the priority of the nodes, used to settle conflicts
+	 * @return the colouring of g
+	 * @throws IllegalArgumentException if g is directed
+	 */
+	public static GraphColoring speculative(FrozenGraph g, Ordering ordering) {
+		int n = g.nbNodes();
+		int[] order = order(g, ordering);
+		int[] rank = rank(order);
+		int[] colors = new int[n];
+		Arrays.fill(colors, -1);
+		ThreadLocal<Forbidden> scratch = ThreadLocal.withInitial(Forbidden::new);
+
+		int[] work = order;
+		while (work.length > 0) {
+			IntStream.of(work).parallel().forEach(v -> colors[v] = scratch.get().smallestFree(g, v, colors));
+			// Of two neighbours with the same colour, the one of lower priority
+			// starts again
+			work = IntStream.of(work).parallel().filter(v -> {
+				for (int a = g.outBegin(v); a < g.outEnd(v); a++) {
+					int u = g.target(a);
+					if (colors[u] == colors[v] && rank[u] < rank[v]) {
+						return true;
+					}
+				}
+				return false;
+			}).toArray();
+		}
+		return new GraphColoring(g, colors);
+	}
+
+	/**
+	 * @return the node indices in colouring order
+	 */
+	private static int[] order(FrozenGraph g, Ordering ordering) {
+		if (g.isDirected()) {
+			throw new IllegalArgumentException("Colourings are computed on undirected graphs");
+		}
+		int n = g.nbNodes();
+		switch (ordering) {
+		case LARGEST_FIRST:
+			return IntStream.range(0, n).boxed()
+					.sorted(Comparator.comparingInt((Integer v) -> -g.outDegree(v)))
+					.mapToInt(Integer::intValue)
+					.toArray();
+		case SMALLEST_LAST:
+			int[] peel = CoreDecomposition.of(g).peelOrder();
+			int[] order = new int[n];
+			for (int i = 0; i < n; i++) {
+				order[i] = peel[n - 1 - i];
+			}
+			return order;
+		default:
+			return IntStream.range(0, n).toArray();
+		}
+	}
+
+	private static int[] rank(int[] order) {
+		int[] rank = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			rank[order[i]] = i;
+		}
+		return rank;
+	}
+
+	/**
+	 * Colours of the neighbours of the node being coloured, marked with a stamp
+	 * so that the array is never cleared
+	 */
+	private static final class Forbidden {
+		private int[] mark = new int[16];
+		private int stamp;
+
+		int smallestFree(FrozenGraph g, int v, int[] colors) {
+			stamp++;
+			int degree = g.outDegree(v);
+			if (mark.length <= degree) {
+				mark = Arrays.copyOf(mark, Math.max(degree + 1, mark.length * 2));
+			}
+			for (int a = g.outBegin(v); a < g.outEnd(v); a++) {
+				int u = g.target(a);
+				int c = colors[u];
+				// Colours above the degree can never be the smallest free one
+				if (u != v && c >= 0 && c <= degree) {
+					mark[c] = stamp;
+				}
+			}
+			int c = 0;
+			while (mark[c] == stamp) {
+				c++;
+			}
+			return c;
+		}
+	}
+
+	/**
+	 * @return the graph of the colouring
+	 */
+	public FrozenGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return the number of colours used
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return the colour of v
+	 */
+	public int color(int v) {
+		return colors[v];
+	}
+
+	/**
+	 * @return a copy of the colour of every node index
+	 */
+	public int[] colors() {
+		return Arrays.copyOf(colors, colors.length);
+	}
+}
@@ -0,0 +1,190 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents a min-priority queue of integer items in [0, capacity)
+ * stored in a d-ary heap.
+ *
+ * Each item is at most once in the heap, and its position is indexed so that
+ * its key can be decreased in O(log_d n) instead of inserting it again.
+ */
+public class IndexedDaryHeap {
+	private final int arity;
+	private final int[] heap;
+	private final long[] keys;
+	private final int[] position;
+	private int size;
+
+	/**
+	 * Creates an empty heap
+	 *
+	 * @param capacity the number of possible items
+	 * @param arity    the number of children of every heap node, at least 2
+	 * @throws IllegalArgumentException if capacity < 0 or arity < 2
+	 */
+	public IndexedDaryHeap(int capacity, int arity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity cannot be negative");
+		}
+		if (arity < 2) {
+			throw new IllegalArgumentException("Arity must be at least 2");
+		}
+		this.arity = arity;
+		this.heap = new int[capacity];
+		this.keys = new long[capacity];
+		this.position = new int[capacity];
+		Arrays.fill(position, -1);
+	}
+
+	/**
+	 * @return the number of items in the heap
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return true if the heap has no item
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @param item an item
+	 * @return true if the item is in the heap
+	 */
+	public boolean contains(int item) {
+		return position[item] >= 0;
+	}
+
+	/**
+	 * @param item an item in the heap
+	 * @return the current key of the item
+	 */
+	public long key(int item) {
+		return keys[item];
+	}
+
+	/**
+	 * @return the smallest key of the heap
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public long peekKey() {
+		if (size == 0) {
+			throw new NoSuchElementException("Heap is empty");
+		}
+		return keys[heap[0]];
+	}
+
+	/**
+	 * Inserts an item or lowers its key.
+	 *
+	 * @param item the item
+	 * @param key  the new key
+	 * @return true if the item was inserted or its key was lowered, false if its
+	 *         key was already lower or equal
+	 */
+	public boolean offer(int item, long key) {
+		int i = position[item];
+		if (i < 0) {
+			i = size++;
+		} else if (key >= keys[item]) {
+			return false;
+		}
+		keys[item] = key;
+		siftUp(i, item);
+		return true;
+	}
+
+	/**
+	 * Inserts an item or changes its key, up or down.
+	 *
+	 * @param item the item
+	 * @param key  the new key
+	 */
+	public void update(int item, long key) {
+		int i = position[item];
+		if (i < 0) {
+			offer(item, key);
+		} else if (key < keys[item]) {
+			keys[item] = key;
+			siftUp(i, item);
+		} else {
+			keys[item] = key;
+			siftDown(i, item);
+		}
+	}
+
+	/**
+	 * Removes the item with the smallest key.
+	 *
+	 * @return the removed item
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public int poll() {
+		if (size == 0) {
+			throw new NoSuchElementException("Heap is empty");
+		}
+		int top = heap[0];
+		position[top] = -1;
+		int last = heap[--size];
+		if (size > 0) {
+			siftDown(0, last);
+		}
+		return top;
+	}
+
+	/**
+	 * Removes every item, in O(size)
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			position[heap[i]] = -1;
+		}
+		size = 0;
+	}
+
+	private void siftUp(int i, int item) {
+		long key = keys[item];
+		while (i > 0) {
+			int parent = (i - 1) / arity;
+			int p = heap[parent];
+			if (keys[p] <= key) {
+				break;
+			}
+			heap[i] = p;
+			position[p] = i;
+			i = parent;
+		}
+		heap[i] = item;
+		position[item] = i;
+	}
+
+	private void siftDown(int i, int item) {
+		long key = keys[item];
+		while (true) {
+			int first = i * arity + 1;
+			if (first >= size) {
+				break;
+			}
+			int last = Math.min(first + arity, size);
+			int best = first;
+			for (int c = first + 1; c < last; c++) {
+				if (keys[heap[c]] < keys[heap[best]]) {
+					best = c;
+				}
+			}
+			if (keys[heap[best]] >= key) {
+				break;
+			}
+			heap[i] = heap[best];
+			position[heap[i]] = i;
+			i = best;
+		}
+		heap[i] = item;
+		position[item] = i;
+	}
+}
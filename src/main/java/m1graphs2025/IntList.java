@@ -0,0 +1,38 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of int used by the algorithms to avoid boxing.
+ */
+final class IntList {
+	int[] data;
+	int size;
+
+	IntList() {
+		this(16);
+	}
+
+	IntList(int capacity) {
+		data = new int[Math.max(capacity, 1)];
+	}
+
+	void add(int value) {
+		if (size == data.length) {
+			data = Arrays.copyOf(data, size * 2);
+		}
+		data[size++] = value;
+	}
+
+	int get(int i) {
+		return data[i];
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	int[] toArray() {
+		return Arrays.copyOf(data, size);
+	}
+}
@@ -0,0 +1,236 @@
+package m1graphs2025;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * This class detects communities in a FrozenGraph by label propagation.
+ *
+ * Every node starts with its own label, then repeatedly takes the label that
+ * weighs the most among its neighbours, keeping its own one on ties if it can,
+ * else the smallest one. Communities are the groups of nodes sharing a label
+ * at the end. Edge directions are ignored and self-loops too.
+ *
+ * The asynchronous mode updates all the nodes in parallel in place, each one
+ * seeing whatever labels its neighbours have at the time, so its result may
+ * change between runs. The semi-synchronous mode first colours the graph,
+ * then updates the nodes of one colour at a time: they are never adjacent, so
+ * each of them only sees stable labels and the result is deterministic.
+ *
+ * An instance can be reused for several runs on the same graph.
+ */
+public class LabelPropagation {
+	/**
+	 * How the labels are updated within an iteration
+	 */
+	public enum Mode {
+		ASYNCHRONOUS, SEMI_SYNCHRONOUS
+	}
+
+	/**
+	 * Default maximum number of iterations
+	 */
+	public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+	private final FrozenGraph graph;
+	private final Mode mode;
+	private final boolean weighted;
+	private final int maxIterations;
+	private final double threshold;
+	private int iterations;
+
+	/**
+	 * Creates a semi-synchronous, unweighted engine, stopping when no label
+	 * changes anymore
+	 *
+	 * @param graph the graph
+	 */
+	public LabelPropagation(FrozenGraph graph) {
+		this(graph, Mode.SEMI_SYNCHRONOUS, false, DEFAULT_MAX_ITERATIONS, 0);
+	}
+
+	/**
+	 * Creates an engine
+	 *
+	 * @param graph         the graph
+	 * @param mode          how the labels are updated
+	 * @param weighted      true to weigh the labels with the edge weights,
+	 *                      unweighted edges counting as 1
+	 * @param maxIterations the maximum number of iterations, at least 1
+	 * @param threshold     the fraction of nodes, in [0, 1], under which the
+	 *                      number of changed labels in an iteration stops the
+	 *                      propagation
+	 * @throws IllegalArgumentException if a parameter is out of range, or
+	 *                                  weighted and an edge has a negative
+	 *                                  weight
+	 */
+	public LabelPropagation(FrozenGraph graph, Mode mode, boolean weighted, int maxIterations, double threshold) {
+		if (maxIterations < 1) {
+			throw new IllegalArgumentException("At least one iteration is needed");
+		}
+		if (!(threshold >= 0 && threshold <= 1)) {
+			throw new IllegalArgumentException("Threshold must be in [0, 1]");
+		}
+		if (weighted) {
+			graph.requireNonNegativeWeights();
+		}
+		this.graph = graph;
+		this.mode = mode;
+		this.weighted = weighted;
+		this.maxIterations = maxIterations;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * @return the number of iterations of the last run
+	 */
+	public int iterations() {
+		return iterations;
+	}
+
+	/**
+	 * Propagates the labels.
+	 *
+	 * @return the community of every node index, numbered from 0 in order of
+	 *         their first node
+	 */
+	public int[] run() {
+		int n = graph.nbNodes();
+		int[] labels = IntStream.range(0, n).toArray();
+		int[][] batches = mode == Mode.SEMI_SYNCHRONOUS ? colourClasses() : new int[][] { labels.clone() };
+		ThreadLocal<Tally> scratch = ThreadLocal.withInitial(() -> new Tally(n));
+		AtomicInteger changed = new AtomicInteger();
+
+		iterations = 0;
+		while (iterations < maxIterations) {
+			iterations++;
+			changed.set(0);
+			for (int[] batch : batches) {
+				IntStream.of(batch).parallel().forEach(v -> {
+					int label = scratch.get().best(v, labels);
+					if (label != labels[v]) {
+						labels[v] = label;
+						changed.incrementAndGet();
+					}
+				});
+			}
+			if (changed.get() <= threshold * n) {
+				break;
+			}
+		}
+
+		// Dense ids in order of the first node of every community
+		int[] ids = new int[n];
+		Arrays.fill(ids, -1);
+		int[] community = new int[n];
+		int count = 0;
+		for (int v = 0; v < n; v++) {
+			if (ids[labels[v]] < 0) {
+				ids[labels[v]] = count++;
+			}
+			community[v] = ids[labels[v]];
+		}
+		return community;
+	}
+
+	/**
+	 * Colours the nodes greedily, edge directions being ignored
+	 *
+	 * @return the nodes grouped by colour
+	 */
+	private int[][] colourClasses() {
+		int n = graph.nbNodes();
+		int[] colour = new int[n];
+		int[] mark = new int[n + 1];
+		Arrays.fill(colour, -1);
+		List<IntList> classes = new ArrayList<>();
+		for (int v = 0; v < n; v++) {
+			// Stamp v + 1 marks the colours of the neighbours of v
+			for (int a = graph.outBegin(v); a < graph.outEnd(v); a++) {
+				int c = colour[graph.target(a)];
+				if (c >= 0) {
+					mark[c] = v + 1;
+				}
+			}
+			for (int a = graph.inBegin(v); a < graph.inEnd(v); a++) {
+				int c = colour[graph.source(a)];
+				if (c >= 0) {
+					mark[c] = v + 1;
+				}
+			}
+			int c = 0;
+			while (mark[c] == v + 1) {
+				c++;
+			}
+			colour[v] = c;
+			if (c == classes.size()) {
+				classes.add(new IntList());
+			}
+			classes.get(c).add(v);
+		}
+		int[][] batches = new int[classes.size()][];
+		for (int c = 0; c < batches.length; c++) {
+			batches[c] = classes.get(c).toArray();
+		}
+		return batches;
+	}
+
+	/**
+	 * Weight of every label around the node being updated. Labels are marked
+	 * with a stamp when first seen, so the arrays are never cleared
+	 */
+	private final class Tally {
+		private final double[] weight;
+		private final int[] mark;
+		private final int[] touched;
+		private int nbTouched;
+		private int stamp;
+
+		Tally(int n) {
+			weight = new double[n];
+			mark = new int[n];
+			touched = new int[n];
+		}
+
+		int best(int v, int[] labels) {
+			stamp++;
+			nbTouched = 0;
+			for (int a = graph.outBegin(v); a < graph.outEnd(v); a++) {
+				add(v, graph.target(a), graph.outWeight(a), labels);
+			}
+			if (graph.isDirected()) {
+				for (int a = graph.inBegin(v); a < graph.inEnd(v); a++) {
+					add(v, graph.source(a), graph.inWeight(a), labels);
+				}
+			}
+			int own = labels[v];
+			int best = own;
+			double bestWeight = mark[own] == stamp ? weight[own] : -1;
+			for (int i = 0; i < nbTouched; i++) {
+				int label = touched[i];
+				double w = weight[label];
+				if (w > bestWeight || (w == bestWeight && label < best && best != own)) {
+					best = label;
+					bestWeight = w;
+				}
+			}
+			return best;
+		}
+
+		private void add(int v, int u, int w, int[] labels) {
+			if (u == v) {
+				return;
+			}
+			int label = labels[u];
+			if (mark[label] != stamp) {
+				mark[label] = stamp;
+				weight[label] = 0;
+				touched[nbTouched++] = label;
+			}
+			weight[label] += weighted ? w : 1;
+		}
+	}
+}
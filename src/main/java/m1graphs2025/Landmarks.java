@@ -0,0 +1,254 @@
+package m1graphs2025;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * This class holds the landmark distances used by the ALT (A*, Landmarks,
+ * Triangle inequality) shortest-path queries.
+ *
+ * For every landmark L it stores the distances d(L, v) from L and d(v, L) to
+ * L of every node v. By the triangle inequality, for a target t,
+ * max(d(L, t) - d(L, v), d(v, L) - d(t, L)) is a lower bound of d(v, t).
+ *
+ * The landmarks are picked greedily, each new one being the node farthest
+ * from the landmarks already picked. The distances can be saved to a file so
+ * that the preprocessing is not repeated at every startup.
+ *
+ * Instances are immutable and can be shared between AltSearch engines.
+ *
+ * @see AltSearch
+ */
+public class Landmarks {
+	private static final int MAGIC = 0x414c5432; // "ALT2"
+
+	private final FrozenGraph graph;
+	private final int[] landmarks;
+	private final long[][] from;
+	private final long[][] to;
+
+	private Landmarks(FrozenGraph graph, int[] landmarks, long[][] from, long[][] to) {
+		this.graph = graph;
+		this.landmarks = landmarks;
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Picks the landmarks and computes their distances with 2 Dijkstra searches
+	 * per landmark.
+	 *
+	 * @param g the graph
+	 * @param k the number of landmarks, at least 1
+	 * @return the landmark distances (fewer than k if the graph has fewer nodes)
+	 * @throws IllegalArgumentException if k < 1 or an edge has a negative weight
+	 */
+	public static Landmarks select(FrozenGraph g, int k) {
+		if (k < 1) {
+			throw new IllegalArgumentException("At least one landmark is needed");
+		}
+		int n = g.nbNodes();
+		k = Math.min(k, n);
+		if (k == 0) {
+			return new Landmarks(g, new int[0], new long[0][], new long[0][]);
+		}
+		ShortestPaths forward = new ShortestPaths(g);
+		ShortestPaths backward = ShortestPaths.reversed(g);
+		int[] landmarks = new int[k];
+		long[][] from = new long[k][];
+		long[][] to = new long[k][];
+
+		// Closeness of every node to the landmarks already picked
+		long[] closest = new long[n];
+		Arrays.fill(closest, ShortestPaths.INFINITY);
+
+		// The first landmark is the farthest node from node 0
+		forward.run(0);
+		int next = farthest(forward.distances(), closest);
+		for (int i = 0; i < k; i++) {
+			landmarks[i] = next;
+			forward.run(next);
+			backward.run(next);
+			from[i] = forward.distances();
+			to[i] = backward.distances();
+			for (int v = 0; v < n; v++) {
+				long d = Math.min(from[i][v], to[i][v]);
+				closest[v] = Math.min(closest[v], d);
+			}
+			next = farthest(closest, closest);
+		}
+		return new Landmarks(g, landmarks, from, to);
+	}
+
+	/**
+	 * Finds the node with the largest distance, nodes not reached counting as the
+	 * farthest ones, ignoring the nodes already at distance 0 of a landmark.
+	 */
+	private static int farthest(long[] dist, long[] closest) {
+		int best = 0;
+		for (int v = 0; v < dist.length; v++) {
+			if (closest[v] != 0 && (closest[best] == 0 || dist[v] > dist[best])) {
+				best = v;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @return the graph of the landmarks
+	 */
+	public FrozenGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return the number of landmarks
+	 */
+	public int size() {
+		return landmarks.length;
+	}
+
+	/**
+	 * @param i the number of a landmark
+	 * @return the node index of the landmark
+	 */
+	public int landmark(int i) {
+		return landmarks[i];
+	}
+
+	/**
+	 * Computes the triangle-inequality lower bound of the distance between two
+	 * nodes.
+	 *
+	 * @param v the index of the first node
+	 * @param t the index of the second node
+	 * @return a lower bound of d(v, t), at least 0, or ShortestPaths.INFINITY if
+	 *         a landmark proves that t cannot be reached from v
+	 */
+	public long lowerBound(int v, int t) {
+		long bound = 0;
+		for (int i = 0; i < landmarks.length; i++) {
+			long[] f = from[i];
+			if (f[v] != ShortestPaths.INFINITY) {
+				if (f[t] == ShortestPaths.INFINITY) {
+					return ShortestPaths.INFINITY;
+				}
+				bound = Math.max(bound, f[t] - f[v]);
+			}
+			long[] b = to[i];
+			if (b[t] != ShortestPaths.INFINITY) {
+				if (b[v] == ShortestPaths.INFINITY) {
+					return ShortestPaths.INFINITY;
+				}
+				bound = Math.max(bound, b[v] - b[t]);
+			}
+		}
+		return bound;
+	}
+
+	/**
+	 * Saves the landmark distances to a file.
+	 *
+	 * @param filename the name of the file
+	 */
+	public void toFile(String filename) {
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(filename)))) {
+			int n = graph.nbNodes();
+			out.writeInt(MAGIC);
+			out.writeInt(n);
+			out.writeInt(graph.nbEdges());
+			out.writeLong(checksum(graph));
+			for (int v = 0; v < n; v++) {
+				out.writeInt(graph.id(v));
+			}
+			out.writeInt(landmarks.length);
+			for (int i = 0; i < landmarks.length; i++) {
+				out.writeInt(landmarks[i]);
+				for (int v = 0; v < n; v++) {
+					out.writeLong(from[i][v]);
+				}
+				for (int v = 0; v < n; v++) {
+					out.writeLong(to[i][v]);
+				}
+			}
+		} catch (IOException e) {
+			System.err.println("Error writing landmark file: " + filename);
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Hashes the ends and weight of every edge, so that distances computed
+	 * before a weight changed are not loaded.
+	 */
+	private static long checksum(FrozenGraph g) {
+		long h = 0xcbf29ce484222325L;
+		for (int e = 0; e < g.nbEdges(); e++) {
+			h = (h ^ g.edgeFrom(e)) * 0x100000001b3L;
+			h = (h ^ g.edgeTo(e)) * 0x100000001b3L;
+			h = (h ^ g.edgeWeight(e)) * 0x100000001b3L;
+		}
+		return h;
+	}
+
+	/**
+	 * Loads landmark distances saved with toFile.
+	 *
+	 * The file must have been written for a graph with the same nodes and the
+	 * same edges, in the same order and with the same weights.
+	 *
+	 * @param filename the name of the file
+	 * @param g        the graph the landmarks were computed on
+	 * @return the loaded landmarks, or null if reading fails or the file does not
+	 *         match g
+	 */
+	public static Landmarks fromFile(String filename, FrozenGraph g) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filename)))) {
+			int n = g.nbNodes();
+			if (in.readInt() != MAGIC || in.readInt() != n || in.readInt() != g.nbEdges()
+					|| in.readLong() != checksum(g)) {
+				System.err.println("Landmark file does not match the graph: " + filename);
+				return null;
+			}
+			for (int v = 0; v < n; v++) {
+				if (in.readInt() != g.id(v)) {
+					System.err.println("Landmark file does not match the graph: " + filename);
+					return null;
+				}
+			}
+			int k = in.readInt();
+			if (k <= 0 || k > n) {
+				System.err.println("Invalid number of landmarks in file: " + filename);
+				return null;
+			}
+			int[] landmarks = new int[k];
+			long[][] from = new long[k][n];
+			long[][] to = new long[k][n];
+			for (int i = 0; i < k; i++) {
+				landmarks[i] = in.readInt();
+				if (landmarks[i] < 0 || landmarks[i] >= n) {
+					System.err.println("Invalid landmark in file: " + filename);
+					return null;
+				}
+				for (int v = 0; v < n; v++) {
+					from[i][v] = in.readLong();
+				}
+				for (int v = 0; v < n; v++) {
+					to[i][v] = in.readLong();
+				}
+			}
+			return new Landmarks(g, landmarks, from, to);
+		} catch (IOException e) {
+			System.err.println("Error reading landmark file: " + filename);
+			e.printStackTrace();
+			return null;
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * This class computes the PageRank of the nodes of a FrozenGraph by power
+ * iteration.
+ *
+ * Every iteration pulls, in parallel over the nodes, the contributions of the
+ * sources of their incoming arcs, so no two threads ever write to the same
+ * rank. The rank of the nodes without outgoing arc (dangling nodes) is spread
+ * over the graph following the restart vector, so the ranks always sum to 1.
+ *
+ * The restart vector is uniform for the usual PageRank, and concentrated on
+ * some nodes for a personalized PageRank. Edge weights are ignored, parallel
+ * edges counting once each.
+ *
+ * An instance can be reused for several computations on the same graph.
+ */
+public class PageRank {
+	/**
+	 * Usual probability of following an arc rather than restarting
+	 */
+	public static final double DEFAULT_DAMPING = 0.85;
+
+	/**
+	 * Default bound of the L1 distance between two iterations
+	 */
+	public static final double DEFAULT_TOLERANCE = 1e-9;
+
+	/**
+	 * Default maximum number of iterations
+	 */
+	public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+	private final FrozenGraph graph;
+	private final double damping;
+	private final double tolerance;
+	private final int maxIterations;
+	private int iterations;
+
+	/**
+	 * Creates an engine with the default parameters
+	 *
+	 * @param graph the graph
+	 */
+	public PageRank(FrozenGraph graph) {
+		this(graph, DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+	}
+
+	/**
+	 * Creates an engine
+	 *
+	 * @param graph         the graph
+	 * @param damping       the probability of following an arc, in [0, 1)
+	 * @param tolerance     the L1 distance between two iterations under which
+	 *                      the ranks are considered stable
+	 * @param maxIterations the maximum number of iterations, at least 1
+	 * @throws IllegalArgumentException if a parameter is out of range
+	 */
+	public PageRank(FrozenGraph graph, double damping, double tolerance, int maxIterations) {
+		if (!(damping >= 0 && damping < 1)) {
+			throw new IllegalArgumentException("Damping must be in [0, 1)");
+		}
+		if (!(tolerance >= 0)) {
+			throw new IllegalArgumentException("Tolerance cannot be negative");
+		}
+		if (maxIterations < 1) {
+			throw new IllegalArgumentException("At least one iteration is needed");
+		}
+		this.graph = graph;
+		this.damping = damping;
+		this.tolerance = tolerance;
+		this.maxIterations = maxIterations;
+	}
+
+	/**
+	 * @return the number of iterations of the last computation
+	 */
+	public int iterations() {
+		return iterations;
+	}
+
+	/**
+	 * Computes the PageRank with a uniform restart vector.
+	 *
+	 * @return the rank of every node index, summing to 1
+	 */
+	public double[] compute() {
+		int n = graph.nbNodes();
+		double[] restart = new double[n];
+		Arrays.fill(restart, 1.0 / n);
+		return iterate(restart);
+	}
+
+	/**
+	 * Computes a personalized PageRank, restarting from the given nodes only.
+	 *
+	 * @param seeds the indices of the restart nodes, each with the same weight
+	 * @return the rank of every node index, summing to 1
+	 * @throws IllegalArgumentException if there is no seed
+	 */
+	public double[] personalized(int... seeds) {
+		if (seeds.length == 0) {
+			throw new IllegalArgumentException("At least one seed is needed");
+		}
+		double[] restart = new double[graph.nbNodes()];
+		for (int s : seeds) {
+			restart[s] += 1.0 / seeds.length;
+		}
+		return iterate(restart);
+	}
+
+	/**
+	 * Computes a personalized PageRank with any restart vector.
+	 *
+	 * @param restart the restart weight of every node index, normalized to sum
+	 *                to 1
+	 * @return the rank of every node index, summing to 1
+	 * @throws IllegalArgumentException if the vector has the wrong length, a
+	 *                                  negative weight, or only zeros
+	 */
+	public double[] personalized(double[] restart) {
+		int n = graph.nbNodes();
+		if (restart.length != n) {
+			throw new IllegalArgumentException("Restart vector must have one weight per node");
+		}
+		double total = 0;
+		for (double w : restart) {
+			if (!(w >= 0)) {
+				throw new IllegalArgumentException("Restart weights cannot be negative");
+			}
+			total += w;
+		}
+		if (total <= 0 || Double.isInfinite(total)) {
+			throw new IllegalArgumentException("Restart weights must have a positive finite sum");
+		}
+		double[] normalized = new double[n];
+		for (int v = 0; v < n; v++) {
+			normalized[v] = restart[v] / total;
+		}
+		return iterate(normalized);
+	}
+
+	private double[] iterate(double[] restart) {
+		int n = graph.nbNodes();
+		double[] rank = Arrays.copyOf(restart, n);
+		double[] next = new double[n];
+		// Share of the rank of every node sent along each of its arcs
+		double[] share = new double[n];
+		double[] invDegree = new double[n];
+		for (int u = 0; u < n; u++) {
+			int degree = graph.outDegree(u);
+			invDegree[u] = degree == 0 ? 0 : 1.0 / degree;
+		}
+
+		iterations = 0;
+		while (iterations < maxIterations) {
+			iterations++;
+			double[] r = rank;
+			IntStream.range(0, n).parallel().forEach(u -> share[u] = r[u] * invDegree[u]);
+			double dangling = IntStream.range(0, n).parallel()
+					.mapToDouble(u -> invDegree[u] == 0 ? r[u] : 0)
+					.sum();
+			double[] nx = next;
+			double diff = IntStream.range(0, n).parallel().mapToDouble(v -> {
+				double sum = 0;
+				for (int a = graph.inBegin(v); a < graph.inEnd(v); a++) {
+					sum += share[graph.source(a)];
+				}
+				nx[v] = damping * (sum + dangling * restart[v]) + (1 - damping) * restart[v];
+				return Math.abs(nx[v] - r[v]);
+			}).sum();
+			next = rank;
+			rank = nx;
+			if (diff < tolerance) {
+				break;
+			}
+		}
+		return rank;
+	}
+}
@@ -0,0 +1,257 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+
+/**
+ * This class computes weighted shortest paths on a FrozenGraph with Dijkstra's
+ * algorithm.
+ *
+ * The distances and predecessors are kept in primitive arrays and the queue is
+ * an IndexedDaryHeap with decrease-key. An instance keeps its buffers between
+ * queries and only resets the entries touched by the previous one, so it
+ * should be reused for repeated queries. An instance is not thread-safe.
+ *
+ * A reversed engine follows the incoming arcs, so it computes the distances
+ * from every node to the source of the query instead.
+ *
+ * Edge weights must not be negative, unweighted edges count as 1.
+ *
+ * @see Graph#shortestPathEngine()
+ */
+public class ShortestPaths {
+	/**
+	 * Distance of the nodes that cannot be reached
+	 */
+	public static final long INFINITY = Long.MAX_VALUE;
+
+	private static final int DEFAULT_ARITY = 4;
+
+	private final FrozenGraph graph;
+	private final boolean reversed;
+	private final long[] dist;
+	private final int[] predNode;
+	private final int[] predEdge;
+	private final IndexedDaryHeap heap;
+	private final int[] touched;
+	private int nbTouched;
+	private int source = -1;
+
+	/**
+	 * Creates an engine using a 4-ary heap
+	 *
+	 * @param graph the graph
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 */
+	public ShortestPaths(FrozenGraph graph) {
+		this(graph, DEFAULT_ARITY);
+	}
+
+	/**
+	 * Creates an engine
+	 *
+	 * @param graph the graph
+	 * @param arity the arity of the heap, at least 2
+	 * @throws IllegalArgumentException if an edge has a negative weight or arity
+	 *                                  < 2
+	 */
+	public ShortestPaths(FrozenGraph graph, int arity) {
+		this(graph, arity, false);
+	}
+
+	private ShortestPaths(FrozenGraph graph, int arity, boolean reversed) {
+		graph.requireNonNegativeWeights();
+		int n = graph.nbNodes();
+		this.graph = graph;
+		this.reversed = reversed;
+		this.dist = new long[n];
+		this.predNode = new int[n];
+		this.predEdge = new int[n];
+		this.heap = new IndexedDaryHeap(n, arity);
+		this.touched = new int[n];
+		Arrays.fill(dist, INFINITY);
+		Arrays.fill(predNode, -1);
+		Arrays.fill(predEdge, -1);
+	}
+
+	/**
+	 * Creates an engine following the incoming arcs, which computes the distances
+	 * to the source of a query.
+	 *
+	 * @param graph the graph
+	 * @return a reversed engine using a 4-ary heap
+	 * @throws IllegalArgumentException if an edge has a negative weight
+	 */
+	public static ShortestPaths reversed(FrozenGraph graph) {
+		return new ShortestPaths(graph, DEFAULT_ARITY, true);
+	}
+
+	/**
+	 * @return true if this engine follows the incoming arcs
+	 */
+	public boolean isReversed() {
+		return reversed;
+	}
+
+	/**
+	 * @return the graph of this engine
+	 */
+	public FrozenGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * Computes the distances from a source to every node.
+	 *
+	 * @param source the index of the source node
+	 */
+	public void run(int source) {
+		run(source, -1);
+	}
+
+	/**
+	 * Computes the distances from a source until a target is reached.
+	 *
+	 * Only the distances of the settled nodes are final when the search stops
+	 * early.
+	 *
+	 * @param source the index of the source node
+	 * @param target the index of the target node, or -1 to reach every node
+	 * @return true if target is reachable (always true if target is -1)
+	 */
+	public boolean run(int source, int target) {
+		reset();
+		this.source = source;
+		visit(source, 0, -1, -1);
+		heap.offer(source, 0);
+
+		while (!heap.isEmpty()) {
+			int u = heap.poll();
+			if (u == target) {
+				heap.clear();
+				return true;
+			}
+			long du = dist[u];
+			if (reversed) {
+				for (int a = graph.inBegin(u); a < graph.inEnd(u); a++) {
+					int v = graph.source(a);
+					long alt = du + graph.inWeight(a);
+					if (alt < dist[v]) {
+						visit(v, alt, u, graph.inEdge(a));
+						heap.offer(v, alt);
+					}
+				}
+				continue;
+			}
+			for (int a = graph.outBegin(u); a < graph.outEnd(u); a++) {
+				int v = graph.target(a);
+				long alt = du + graph.outWeight(a);
+				if (alt < dist[v]) {
+					visit(v, alt, u, graph.outEdge(a));
+					heap.offer(v, alt);
+				}
+			}
+		}
+		return target < 0;
+	}
+
+	private void visit(int v, long d, int pred, int edge) {
+		if (dist[v] == INFINITY) {
+			touched[nbTouched++] = v;
+		}
+		dist[v] = d;
+		predNode[v] = pred;
+		predEdge[v] = edge;
+	}
+
+	private void reset() {
+		for (int i = 0; i < nbTouched; i++) {
+			int v = touched[i];
+			dist[v] = INFINITY;
+			predNode[v] = -1;
+			predEdge[v] = -1;
+		}
+		nbTouched = 0;
+		heap.clear();
+	}
+
+	/**
+	 * @return the index of the source of the last query, or -1 if none
+	 */
+	public int source() {
+		return source;
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return the distance from the source of the last query (to it if reversed),
+	 *         or INFINITY
+	 */
+	public long distance(int v) {
+		return dist[v];
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return true if v was reached by the last query
+	 */
+	public boolean isReachable(int v) {
+		return dist[v] != INFINITY;
+	}
+
+	/**
+	 * @return a copy of the distances of the last query
+	 */
+	public long[] distances() {
+		return Arrays.copyOf(dist, dist.length);
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return the index of the node before v on its shortest path (after it if
+	 *         reversed), or -1
+	 */
+	public int predecessor(int v) {
+		return predNode[v];
+	}
+
+	/**
+	 * Rebuilds the shortest path of the last query to a node.
+	 *
+	 * @param target the index of the target node
+	 * @return the node indices from the source to target (from target to the
+	 *         source if reversed), or null if target was not reached
+	 */
+	public int[] path(int target) {
+		if (!isReachable(target)) {
+			return null;
+		}
+		int length = 1;
+		for (int v = target; predNode[v] >= 0; v = predNode[v]) {
+			length++;
+		}
+		int[] path = new int[length];
+		for (int v = target, i = 0; i < length; v = predNode[v], i++) {
+			path[reversed ? i : length - 1 - i] = v;
+		}
+		return path;
+	}
+
+	/**
+	 * Rebuilds the edges of the shortest path of the last query to a node.
+	 *
+	 * @param target the index of the target node
+	 * @return the edge indices from the source to target (from target to the
+	 *         source if reversed), or null if target was not reached
+	 */
+	public int[] edgePath(int target) {
+		int[] path = path(target);
+		if (path == null) {
+			return null;
+		}
+		int[] edges = new int[path.length - 1];
+		for (int i = 0; i < edges.length; i++) {
+			edges[i] = predEdge[path[reversed ? i : i + 1]];
+		}
+		return edges;
+	}
+}
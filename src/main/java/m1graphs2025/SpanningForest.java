@@ -0,0 +1,171 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * This class holds a minimum spanning forest of an undirected FrozenGraph: a
+ * minimum spanning tree of each of its connected components.
+ *
+ * Kruskal's algorithm sorts the edges in parallel and adds them in order with
+ * a union-find. Borůvka's algorithm repeatedly picks in parallel the lightest
+ * edge leaving every component, the picks being made with compare-and-set,
+ * then merges the components along them.
+ *
+ * Both break ties between equal weights by edge index, so they return the same
+ * forest. Unweighted edges count as 1, negative weights are allowed,
+ * self-loops are never kept and only the lightest of parallel edges can be.
+ */
+public class SpanningForest {
+	private final FrozenGraph graph;
+	private final int[] edges;
+	private final long weight;
+
+	private SpanningForest(FrozenGraph graph, int[] edges) {
+		Arrays.sort(edges);
+		long total = 0;
+		for (int e : edges) {
+			total += graph.edgeWeight(e);
+		}
+		this.graph = graph;
+		this.edges = edges;
+		this.weight = total;
+	}
+
+	/**
+	 * Computes a minimum spanning forest with Kruskal's algorithm.
+	 *
+	 * @param g the graph
+	 * @return the minimum spanning forest of g
+	 * @throws IllegalArgumentException if g is directed
+	 */
+	public static SpanningForest kruskal(FrozenGraph g) {
+		requireUndirected(g);
+		int m = g.nbEdges();
+		long[] keys = new long[m];
+		IntStream.range(0, m).parallel().forEach(e -> keys[e] = key(g, e));
+		Arrays.parallelSort(keys);
+
+		ConcurrentUnionFind sets = new ConcurrentUnionFind(g.nbNodes());
+		int[] forest = new int[Math.max(0, g.nbNodes() - 1)];
+		int size = 0;
+		for (int i = 0; i < m && size < forest.length; i++) {
+			int e = (int) keys[i];
+			if (sets.union(g.edgeFrom(e), g.edgeTo(e))) {
+				forest[size++] = e;
+			}
+		}
+		return new SpanningForest(g, Arrays.copyOf(forest, size));
+	}
+
+	/**
+	 * Computes a minimum spanning forest with a parallel Borůvka's algorithm.
+	 *
+	 * @param g the graph
+	 * @return the minimum spanning forest of g
+	 * @throws IllegalArgumentException if g is directed
+	 */
+	public static SpanningForest boruvka(FrozenGraph g) {
+		requireUndirected(g);
+		int n = g.nbNodes();
+		int m = g.nbEdges();
+		ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+		AtomicLongArray lightest = new AtomicLongArray(n);
+		boolean[] inForest = new boolean[m];
+		boolean merged = true;
+		while (merged) {
+			IntStream.range(0, n).parallel().forEach(v -> lightest.set(v, Long.MAX_VALUE));
+			// Lightest edge leaving every component, stored at its root
+			IntStream.range(0, m).parallel().forEach(e -> {
+				int ru = sets.find(g.edgeFrom(e));
+				int rv = sets.find(g.edgeTo(e));
+				if (ru != rv) {
+					long key = key(g, e);
+					lowerTo(lightest, ru, key);
+					lowerTo(lightest, rv, key);
+				}
+			});
+			// Two components picking the same edge only merge once
+			merged = IntStream.range(0, n).parallel().map(r -> {
+				long key = lightest.get(r);
+				if (key == Long.MAX_VALUE) {
+					return 0;
+				}
+				int e = (int) key;
+				if (sets.union(g.edgeFrom(e), g.edgeTo(e))) {
+					inForest[e] = true;
+					return 1;
+				}
+				return 0;
+			}).sum() > 0;
+		}
+		return new SpanningForest(g, IntStream.range(0, m).filter(e -> inForest[e]).toArray());
+	}
+
+	/**
+	 * Orders the edges by weight, then by index, in a single long
+	 */
+	private static long key(FrozenGraph g, int e) {
+		return ((long) g.edgeWeight(e) << 32) | e;
+	}
+
+	private static void lowerTo(AtomicLongArray array, int i, long value) {
+		long current = array.get(i);
+		while (value < current && !array.compareAndSet(i, current, value)) {
+			current = array.get(i);
+		}
+	}
+
+	private static void requireUndirected(FrozenGraph g) {
+		if (g.isDirected()) {
+			throw new IllegalArgumentException("Spanning forests are computed on undirected graphs");
+		}
+	}
+
+	/**
+	 * @return the graph of the forest
+	 */
+	public FrozenGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return the number of edges of the forest
+	 */
+	public int size() {
+		return edges.length;
+	}
+
+	/**
+	 * @return the total weight of the forest
+	 */
+	public long weight() {
+		return weight;
+	}
+
+	/**
+	 * @return a copy of the sorted indices of the edges of the forest
+	 */
+	public int[] edges() {
+		return Arrays.copyOf(edges, edges.length);
+	}
+
+	/**
+	 * Builds the forest as a graph.
+	 *
+	 * @return a new UndirectedGraph with every node of the original graph and
+	 *         the edges of the forest, with their weights
+	 */
+	public UndirectedGraph toGraph() {
+		UndirectedGraph forest = new UndirectedGraph();
+		for (int v = 0; v < graph.nbNodes(); v++) {
+			forest.addNode(graph.id(v));
+		}
+		for (int e : edges) {
+			Edge edge = graph.edge(e);
+			forest.addEdge(edge.from().getId(), edge.to().getId(), edge.getWeight());
+		}
+		return forest;
+	}
+}
@@ -0,0 +1,138 @@
+package m1graphs2025;
+
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * This class represents the subgraph of a FrozenGraph induced by the nodes
+ * accepted by a predicate.
+ *
+ * Nothing is copied: every query filters the arcs of the underlying graph on
+ * the fly, so a view is cheap to create and stays valid as long as its graph.
+ * It can be turned into a real Graph with toGraph.
+ */
+public class SubgraphView {
+	private final FrozenGraph graph;
+	private final IntPredicate accepted;
+
+	/**
+	 * Creates a view
+	 *
+	 * @param graph    the graph
+	 * @param accepted the test of the node indices kept in the view
+	 */
+	public SubgraphView(FrozenGraph graph, IntPredicate accepted) {
+		this.graph = graph;
+		this.accepted = accepted;
+	}
+
+	/**
+	 * @return the underlying graph
+	 */
+	public FrozenGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @param v the index of a node of the underlying graph
+	 * @return true if v is in the view
+	 */
+	public boolean contains(int v) {
+		return accepted.test(v);
+	}
+
+	/**
+	 * @return the sorted indices of the nodes of the view
+	 */
+	public int[] nodes() {
+		return IntStream.range(0, graph.nbNodes()).filter(accepted).toArray();
+	}
+
+	/**
+	 * @return the number of nodes of the view
+	 */
+	public int nbNodes() {
+		return (int) IntStream.range(0, graph.nbNodes()).filter(accepted).count();
+	}
+
+	/**
+	 * @return the number of edges with both ends in the view
+	 */
+	public int nbEdges() {
+		return (int) IntStream.range(0, graph.nbEdges())
+				.filter(e -> accepted.test(graph.edgeFrom(e)) && accepted.test(graph.edgeTo(e)))
+				.count();
+	}
+
+	/**
+	 * @param v the index of a node of the view
+	 * @return the number of arcs from v to a node of the view
+	 */
+	public int outDegree(int v) {
+		int degree = 0;
+		for (int a = graph.outBegin(v); a < graph.outEnd(v); a++) {
+			if (accepted.test(graph.target(a))) {
+				degree++;
+			}
+		}
+		return degree;
+	}
+
+	/**
+	 * @param v the index of a node of the view
+	 * @return the number of arcs to v from a node of the view
+	 */
+	public int inDegree(int v) {
+		int degree = 0;
+		for (int a = graph.inBegin(v); a < graph.inEnd(v); a++) {
+			if (accepted.test(graph.source(a))) {
+				degree++;
+			}
+		}
+		return degree;
+	}
+
+	/**
+	 * @param v the index of a node of the view
+	 * @return the targets in the view of the arcs from v, with duplicates
+	 */
+	public int[] successors(int v) {
+		return IntStream.range(graph.outBegin(v), graph.outEnd(v)).map(graph::target).filter(accepted).toArray();
+	}
+
+	/**
+	 * @param v the index of a node of the view
+	 * @return the sources in the view of the arcs to v, with duplicates
+	 */
+	public int[] predecessors(int v) {
+		return IntStream.range(graph.inBegin(v), graph.inEnd(v)).map(graph::source).filter(accepted).toArray();
+	}
+
+	/**
+	 * @return the nodes of the view
+	 */
+	public List<Node> toNodes() {
+		return graph.toNodes(nodes());
+	}
+
+	/**
+	 * Copies the view into a new graph of the same kind as the original one.
+	 *
+	 * @return a new Graph, or UndirectedGraph, with the nodes of the view and
+	 *         the edges between them, with their weights
+	 */
+	public Graph toGraph() {
+		Graph copy = graph.isDirected() ? new Graph() : new UndirectedGraph();
+		for (int v : nodes()) {
+			copy.addNode(graph.id(v));
+		}
+		for (int e = 0; e < graph.nbEdges(); e++) {
+			if (accepted.test(graph.edgeFrom(e)) && accepted.test(graph.edgeTo(e))) {
+				Edge edge = graph.edge(e);
+				copy.addEdge(edge.from().getId(), edge.to().getId(), edge.getWeight());
+			}
+		}
+		return copy;
+	}
+}
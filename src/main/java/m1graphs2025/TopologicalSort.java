@@ -0,0 +1,169 @@
+package m1graphs2025;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Provides topological sorting and cycle detection on a directed FrozenGraph.
+ * In an undirected graph every edge is a cycle, so they are rejected.
+ *
+ * The order is computed with a level-by-level version of Kahn's algorithm:
+ * every level (wavefront) holds the nodes whose predecessors all belong to the
+ * previous levels, so the nodes of one level can be processed concurrently.
+ * Large levels are expanded in parallel.
+ *
+ * @see FrozenGraph
+ */
+public class TopologicalSort {
+	/**
+	 * Size of a level under which it is expanded sequentially
+	 */
+	private static final int PARALLEL_THRESHOLD = 4096;
+
+	private TopologicalSort() {
+	}
+
+	private static void requireDirected(FrozenGraph g) {
+		if (!g.isDirected()) {
+			throw new IllegalArgumentException("Topological orders are computed on directed graphs");
+		}
+	}
+
+	/**
+	 * Computes the levels (wavefronts) of Kahn's algorithm.
+	 *
+	 * Level 0 holds the nodes without incoming arcs, and every node of level k
+	 * has at least one predecessor in level k - 1. The node indices of a level
+	 * are sorted.
+	 *
+	 * @param g the graph
+	 * @return the levels as arrays of node indices, or null if g has a cycle
+	 * @throws IllegalArgumentException if g is undirected
+	 */
+	public static int[][] levels(FrozenGraph g) {
+		requireDirected(g);
+		int n = g.nbNodes();
+		AtomicIntegerArray inDegree = new AtomicIntegerArray(n);
+		int[] frontier = new int[n];
+		int size = 0;
+		for (int v = 0; v < n; v++) {
+			inDegree.set(v, g.inDegree(v));
+			if (g.inDegree(v) == 0) {
+				frontier[size++] = v;
+			}
+		}
+
+		List<int[]> levels = new ArrayList<>();
+		int[] next = new int[n];
+		AtomicInteger nextSize = new AtomicInteger();
+		int done = 0;
+		while (size > 0) {
+			int[] level = Arrays.copyOf(frontier, size);
+			levels.add(level);
+			done += size;
+
+			nextSize.set(0);
+			IntStream range = IntStream.range(0, size);
+			if (size >= PARALLEL_THRESHOLD) {
+				range = range.parallel();
+			}
+			range.forEach(i -> {
+				int u = level[i];
+				for (int a = g.outBegin(u); a < g.outEnd(u); a++) {
+					int v = g.target(a);
+					if (inDegree.decrementAndGet(v) == 0) {
+						next[nextSize.getAndIncrement()] = v;
+					}
+				}
+			});
+
+			size = nextSize.get();
+			System.arraycopy(next, 0, frontier, 0, size);
+			Arrays.sort(frontier, 0, size);
+		}
+
+		return done == n ? levels.toArray(new int[levels.size()][]) : null;
+	}
+
+	/**
+	 * Computes a topological order by concatenating the levels.
+	 *
+	 * @param g the graph
+	 * @return the node indices in topological order, or null if g has a cycle
+	 * @throws IllegalArgumentException if g is undirected
+	 */
+	public static int[] order(FrozenGraph g) {
+		int[][] levels = levels(g);
+		if (levels == null) {
+			return null;
+		}
+		int[] order = new int[g.nbNodes()];
+		int i = 0;
+		for (int[] level : levels) {
+			System.arraycopy(level, 0, order, i, level.length);
+			i += level.length;
+		}
+		return order;
+	}
+
+	/**
+	 * Finds a directed cycle with an iterative Depth-First Search.
+	 *
+	 * @param g the graph
+	 * @return the node indices of a cycle, each one having an arc to the next and
+	 *         the last one an arc to the first, or null if g is acyclic
+	 * @throws IllegalArgumentException if g is undirected
+	 */
+	public static int[] findCycle(FrozenGraph g) {
+		requireDirected(g);
+		int n = g.nbNodes();
+		colour[] color = new colour[n];
+		Arrays.fill(color, colour.WHITE);
+		int[] parent = new int[n];
+		int[] nextArc = new int[n];
+		int[] stack = new int[n];
+
+		for (int root = 0; root < n; root++) {
+			if (color[root] != colour.WHITE) {
+				continue;
+			}
+			int top = 0;
+			stack[top++] = root;
+			color[root] = colour.GRAY;
+			parent[root] = -1;
+			nextArc[root] = g.outBegin(root);
+
+			while (top > 0) {
+				int u = stack[top - 1];
+				if (nextArc[u] == g.outEnd(u)) {
+					color[u] = colour.BLACK;
+					top--;
+					continue;
+				}
+				int v = g.target(nextArc[u]++);
+				if (color[v] == colour.WHITE) {
+					color[v] = colour.GRAY;
+					parent[v] = u;
+					nextArc[v] = g.outBegin(v);
+					stack[top++] = v;
+				} else if (color[v] == colour.GRAY) {
+					// Backward arc u -> v closes the cycle v -> ... -> u
+					int length = 1;
+					for (int w = u; w != v; w = parent[w]) {
+						length++;
+					}
+					int[] cycle = new int[length];
+					for (int w = u, i = length - 1; i >= 0; w = parent[w], i--) {
+						cycle[i] = w;
+					}
+					return cycle;
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,174 @@
+package m1graphs2025;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * This class holds the triangles and local clustering coefficients of an
+ * undirected FrozenGraph.
+ *
+ * The distinct neighbours of every node are put in sorted arrays, self-loops
+ * and parallel edges being ignored. Every edge is then oriented from its end
+ * of lower degree to its end of higher degree, so that every node keeps at
+ * most O(sqrt(m)) forward neighbours, and every triangle is found exactly
+ * once by merging the forward neighbours of the two ends of an edge. The
+ * nodes are processed in parallel.
+ */
+public class Triangles {
+	private final FrozenGraph graph;
+	private final long count;
+	private final long[] triangles;
+	private final int[] degree;
+
+	private Triangles(FrozenGraph graph, long count, long[] triangles, int[] degree) {
+		this.graph = graph;
+		this.count = count;
+		this.triangles = triangles;
+		this.degree = degree;
+	}
+
+	/**
+	 * Counts the triangles of a graph.
+	 *
+	 * @param g the graph
+	 * @return the triangles of g
+	 * @throws IllegalArgumentException if g is directed
+	 */
+	public static Triangles of(FrozenGraph g) {
+		if (g.isDirected()) {
+			throw new IllegalArgumentException("Triangles are counted on undirected graphs");
+		}
+		int n = g.nbNodes();
+		int[][] neighbours = new int[n][];
+		IntStream.range(0, n).parallel().forEach(u -> neighbours[u] = distinctNeighbours(g, u));
+		int[] degree = new int[n];
+		for (int u = 0; u < n; u++) {
+			degree[u] = neighbours[u].length;
+		}
+
+		// Keeps the neighbours ranked after u, still sorted by index
+		int[][] forward = new int[n][];
+		IntStream.range(0, n).parallel().forEach(u -> {
+			int[] all = neighbours[u];
+			int size = 0;
+			int[] kept = new int[all.length];
+			for (int v : all) {
+				if (degree[v] > degree[u] || (degree[v] == degree[u] && v > u)) {
+					kept[size++] = v;
+				}
+			}
+			forward[u] = Arrays.copyOf(kept, size);
+		});
+
+		AtomicLongArray perNode = new AtomicLongArray(n);
+		long count = IntStream.range(0, n).parallel().mapToLong(u -> {
+			long found = 0;
+			int[] fu = forward[u];
+			for (int v : fu) {
+				int[] fv = forward[v];
+				int i = 0;
+				int j = 0;
+				long shared = 0;
+				while (i < fu.length && j < fv.length) {
+					if (fu[i] < fv[j]) {
+						i++;
+					} else if (fu[i] > fv[j]) {
+						j++;
+					} else {
+						perNode.incrementAndGet(fu[i]);
+						shared++;
+						i++;
+						j++;
+					}
+				}
+				if (shared > 0) {
+					perNode.addAndGet(v, shared);
+					found += shared;
+				}
+			}
+			if (found > 0) {
+				perNode.addAndGet(u, found);
+			}
+			return found;
+		}).sum();
+
+		long[] triangles = new long[n];
+		for (int u = 0; u < n; u++) {
+			triangles[u] = perNode.get(u);
+		}
+		return new Triangles(g, count, triangles, degree);
+	}
+
+	private static int[] distinctNeighbours(FrozenGraph g, int u) {
+		int[] all = new int[g.outDegree(u)];
+		int size = 0;
+		for (int a = g.outBegin(u); a < g.outEnd(u); a++) {
+			if (g.target(a) != u) {
+				all[size++] = g.target(a);
+			}
+		}
+		Arrays.sort(all, 0, size);
+		int distinct = 0;
+		for (int i = 0; i < size; i++) {
+			if (distinct == 0 || all[i] != all[distinct - 1]) {
+				all[distinct++] = all[i];
+			}
+		}
+		return Arrays.copyOf(all, distinct);
+	}
+
+	/**
+	 * @return the graph of the triangles
+	 */
+	public FrozenGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return the number of triangles of the graph
+	 */
+	public long count() {
+		return count;
+	}
+
+	/**
+	 * @param v the index of a node
+	 * @return the number of triangles containing v
+	 */
+	public long triangles(int v) {
+		return triangles[v];
+	}
+
+	/**
+	 * Computes the local clustering coefficient of a node: the fraction of the
+	 * pairs of its neighbours that are adjacent.
+	 *
+	 * @param v the index of a node
+	 * @return the clustering coefficient of v, 0 if it has less than 2
+	 *         neighbours
+	 */
+	public double clustering(int v) {
+		long d = degree[v];
+		return d < 2 ? 0 : 2.0 * triangles[v] / (d * (d - 1));
+	}
+
+	/**
+	 * @return the local clustering coefficient of every node index
+	 */
+	public double[] clusteringCoefficients() {
+		double[] coefficients = new double[degree.length];
+		for (int v = 0; v < coefficients.length; v++) {
+			coefficients[v] = clustering(v);
+		}
+		return coefficients;
+	}
+
+	/**
+	 * @return the mean of the local clustering coefficients, 0 for an empty
+	 *         graph
+	 */
+	public double averageClustering() {
+		return Arrays.stream(clusteringCoefficients()).average().orElse(0);
+	}
+}
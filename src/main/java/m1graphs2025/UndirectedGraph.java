@@ -184,6 +184,92 @@ public class UndirectedGraph extends Graph {
 		return this;
 	}
 
+	/**
+	 * Computes the connected components of the graph.
+	 *
+	 * @return the components, indexed like the nodes of their FrozenGraph
+	 */
+	public Components connectedComponents() {
+		return Components.of(freeze());
+	}
+
+	/**
+	 * Counts the triangles of the graph and the local clustering coefficients
+	 * of its nodes.
+	 *
+	 * Self-loops and parallel edges are ignored.
+	 *
+	 * @return the triangles, indexed like the nodes of their FrozenGraph
+	 */
+	public Triangles triangles() {
+		return Triangles.of(freeze());
+	}
+
+	/**
+	 * Computes a minimum spanning forest, a minimum spanning tree of every
+	 * connected component, with Kruskal's algorithm.
+	 *
+	 * Unweighted edges count as 1.
+	 *
+	 * @return the forest, with edge indices of the FrozenGraph of this graph
+	 */
+	public SpanningForest minimumSpanningForest() {
+		return SpanningForest.kruskal(freeze());
+	}
+
+	/**
+	 * Computes the core number of every node.
+	 *
+	 * Self-loops are ignored and parallel edges count once each.
+	 *
+	 * @return the core decomposition, indexed like the nodes of its FrozenGraph
+	 */
+	public CoreDecomposition coreDecomposition() {
+		return CoreDecomposition.of(freeze());
+	}
+
+	/**
+	 * Colours the nodes so that adjacent nodes have different colours, in
+	 * parallel with the Jones–Plassmann algorithm.
+	 *
+	 * @param ordering the priority of the nodes
+	 * @return the colouring, indexed like the nodes of its FrozenGraph
+	 */
+	public GraphColoring coloring(GraphColoring.Ordering ordering) {
+		return GraphColoring.jonesPlassmann(freeze(), ordering);
+	}
+
+	/**
+	 * Finds the bridges, articulation points and biconnected components of the
+	 * graph in a single iterative depth-first search.
+	 *
+	 * @return the analysis, indexed like the nodes and edges of its FrozenGraph
+	 */
+	public Biconnectivity biconnectivity() {
+		return Biconnectivity.of(freeze());
+	}
+
+	/**
+	 * Finds the edges whose removal disconnects their ends. Parallel edges are
+	 * never bridges.
+	 *
+	 * @return the bridges of the graph
+	 */
+	public List<Edge> getBridges() {
+		Biconnectivity b = biconnectivity();
+		return b.getGraph().toEdges(b.bridges());
+	}
+
+	/**
+	 * Finds the nodes whose removal disconnects their component.
+	 *
+	 * @return the articulation points of the graph
+	 */
+	public List<Node> getArticulationPoints() {
+		Biconnectivity b = biconnectivity();
+		return b.getGraph().toNodes(b.articulationPoints());
+	}
+
 	/**
 	 * Converts the undirected graph to an adjacency matrix.
 	 *
@@ -0,0 +1,89 @@
+package m1maxflow2025;
+
+/**
+ * Implements the capacity scaling algorithm for computing the maximum flow in
+ * a flow network.
+ *
+ * It augments along shortest paths like Edmonds-Karp, but only through the
+ * arcs with a residual capacity of at least a threshold Δ. Δ starts at the
+ * greatest power of 2 not above the largest capacity and is halved whenever
+ * no such path is left, down to 1. Large capacities are thus used first,
+ * and every phase makes at most 2E augmentations, for O(E² log U) in all,
+ * where U is the largest capacity.
+ */
+public class CapacityScaling {
+
+	/**
+	 * Computes the maximum flow in a FlowNetwork, starting from its current
+	 * flows.
+	 *
+	 * @param fn The flow network
+	 * @return The FlowNetwork with the updated maximum flow
+	 */
+	public static FlowNetwork maxFlow(FlowNetwork fn) {
+		ResidualNetwork network = ResidualNetwork.of(fn);
+		maxFlow(network);
+		network.writeBack();
+		return fn;
+	}
+
+	/**
+	 * Saturates a residual network in place, from its source to its target.
+	 *
+	 * @param network The residual network
+	 * @return The amount of flow pushed
+	 */
+	public static int maxFlow(ResidualNetwork network) {
+		int n = network.nbNodes();
+		int s = network.source();
+		int t = network.target();
+		if (n == 0 || s == t) {
+			return 0;
+		}
+		int largest = 0;
+		for (int a = 0; a < network.nbArcs(); a++) {
+			largest = Math.max(largest, network.residual(a));
+		}
+		int[] prevArc = new int[n];
+		int[] seen = new int[n];
+		int[] queue = new int[n];
+		int stamp = 0;
+
+		int total = 0;
+		for (int delta = Integer.highestOneBit(largest); delta > 0; delta >>= 1) {
+			while (true) {
+				// Breadth-first search through the arcs of at least delta
+				stamp++;
+				seen[s] = stamp;
+				int first = 0;
+				int last = 0;
+				queue[last++] = s;
+				while (first < last && seen[t] != stamp) {
+					int u = queue[first++];
+					for (int i = network.arcBegin(u); i < network.arcEnd(u); i++) {
+						int a = network.arcAt(i);
+						int v = network.head(a);
+						if (seen[v] != stamp && network.residual(a) >= delta) {
+							seen[v] = stamp;
+							prevArc[v] = a;
+							queue[last++] = v;
+						}
+					}
+				}
+				if (seen[t] != stamp) {
+					break;
+				}
+
+				int bottleneck = Integer.MAX_VALUE;
+				for (int v = t; v != s; v = network.tail(prevArc[v])) {
+					bottleneck = Math.min(bottleneck, network.residual(prevArc[v]));
+				}
+				for (int v = t; v != s; v = network.tail(prevArc[v])) {
+					network.push(prevArc[v], bottleneck);
+				}
+				total += bottleneck;
+			}
+		}
+		return total;
+	}
+}
@@ -0,0 +1,147 @@
+package m1maxflow2025;
+
+import java.util.Arrays;
+
+/**
+ * Implements Dinic's algorithm for computing the maximum flow in a flow
+ * network.
+ *
+ * Each phase labels the nodes with their BFS distance from the source in the
+ * residual network, then saturates the level graph, made of the arcs going
+ * one level up, with a blocking flow. The blocking flow is found by an
+ * iterative depth-first search in which every node keeps a current-arc
+ * pointer, so an arc that led nowhere is never tried again in the phase.
+ * There are at most V phases of O(VE) each, and far fewer in practice.
+ */
+public class Dinic {
+
+	/**
+	 * Computes the maximum flow in a FlowNetwork, starting from its current
+	 * flows.
+	 *
+	 * @param fn The flow network
+	 * @return The FlowNetwork with the updated maximum flow
+	 */
+	public static FlowNetwork maxFlow(FlowNetwork fn) {
+		ResidualNetwork network = ResidualNetwork.of(fn);
+		maxFlow(network);
+		network.writeBack();
+		return fn;
+	}
+
+	/**
+	 * Saturates a residual network in place, from its source to its target.
+	 *
+	 * @param network The residual network
+	 * @return The amount of flow pushed
+	 */
+	public static int maxFlow(ResidualNetwork network) {
+		int n = network.nbNodes();
+		int s = network.source();
+		int t = network.target();
+		if (n == 0 || s == t) {
+			return 0;
+		}
+		int[] level = new int[n];
+		int[] queue = new int[n];
+		int[] current = new int[n];
+		int[] path = new int[n];
+
+		int total = 0;
+		while (levels(network, level, queue)) {
+			for (int u = 0; u < n; u++) {
+				current[u] = network.arcBegin(u);
+			}
+			total += blockingFlow(network, level, current, path);
+		}
+		return total;
+	}
+
+	/**
+	 * Labels every node with its distance from the source, or -1.
+	 *
+	 * @return true if the target is reachable
+	 */
+	private static boolean levels(ResidualNetwork network, int[] level, int[] queue) {
+		int s = network.source();
+		int t = network.target();
+		Arrays.fill(level, -1);
+		level[s] = 0;
+		int first = 0;
+		int last = 0;
+		queue[last++] = s;
+		while (first < last) {
+			int u = queue[first++];
+			// Nodes further than the target cannot be on a shortest path
+			if (level[u] >= level[t] && level[t] >= 0) {
+				break;
+			}
+			for (int i = network.arcBegin(u); i < network.arcEnd(u); i++) {
+				int a = network.arcAt(i);
+				int v = network.head(a);
+				if (level[v] < 0 && network.residual(a) > 0) {
+					level[v] = level[u] + 1;
+					queue[last++] = v;
+				}
+			}
+		}
+		return level[t] >= 0;
+	}
+
+	/**
+	 * Pushes flow along the level graph until every path to the target has a
+	 * saturated arc.
+	 *
+	 * @return The amount of flow pushed
+	 */
+	private static int blockingFlow(ResidualNetwork network, int[] level, int[] current, int[] path) {
+		int s = network.source();
+		int t = network.target();
+		int total = 0;
+		int depth = 0;
+		int u = s;
+		while (true) {
+			if (u == t) {
+				int delta = Integer.MAX_VALUE;
+				for (int i = 0; i < depth; i++) {
+					delta = Math.min(delta, network.residual(path[i]));
+				}
+				// Back to the tail of the first saturated arc
+				int cut = -1;
+				for (int i = 0; i < depth; i++) {
+					network.push(path[i], delta);
+					if (cut < 0 && network.residual(path[i]) == 0) {
+						cut = i;
+					}
+				}
+				total += delta;
+				depth = cut;
+				u = network.tail(path[cut]);
+				continue;
+			}
+
+			int end = network.arcEnd(u);
+			while (current[u] < end) {
+				int a = network.arcAt(current[u]);
+				if (network.residual(a) > 0 && level[network.head(a)] == level[u] + 1) {
+					break;
+				}
+				current[u]++;
+			}
+			if (current[u] < end) {
+				int a = network.arcAt(current[u]);
+				path[depth++] = a;
+				u = network.head(a);
+				continue;
+			}
+
+			// Dead end: u leaves the level graph, and the arc into it is skipped
+			if (depth == 0) {
+				return total;
+			}
+			level[u] = -1;
+			u = network.tail(path[--depth]);
+			current[u]++;
+		}
+	}
+}
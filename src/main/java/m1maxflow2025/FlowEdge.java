@@ -6,6 +6,8 @@ import m1graphs2025.Node;
 
 public class FlowEdge extends Edge {
 	private Integer flow;
+	// Kept apart from the weight, which equals and hashCode use
+	private Integer capacity;
 
 	public FlowEdge(Node from, Node to, Graph graphHolder, Integer weight, Integer flow) {
 		super(from, to, graphHolder, weight);
@@ -13,6 +15,15 @@ public class FlowEdge extends Edge {
 			throw new IllegalArgumentException("Flow cannot higher than capacity");
 		}
 		this.flow = flow;
+		this.capacity = weight;
+	}
+
+	/**
+	 * @return the current capacity, which setCapacity may have changed
+	 */
+	@Override
+	public Integer getWeight() {
+		return capacity;
 	}
 
 	public Integer getFlow() {
@@ -26,4 +37,11 @@ public class FlowEdge extends Edge {
 	public void addFlow(Integer flow) {
 		this.flow += flow;
 	}
+
+	public void setCapacity(Integer capacity) {
+		if (capacity < flow) {
+			throw new IllegalArgumentException("Capacity cannot be lower than flow");
+		}
+		this.capacity = capacity;
+	}
 }
@@ -29,28 +29,101 @@ public class FordFulkerson {
 		List<Node> findPath(ResidualGraph residual, Node source, Node target);
 	}
 
+	/**
+	 * Functional interface for a maximum flow algorithm working in place on a
+	 * residual network.
+	 * The Solver class provides the available algorithms.
+	 */
+	public interface Solver {
+		/**
+		 * Pushes as much flow as possible from the source to the target of the
+		 * given residual network.
+		 *
+		 * @param network The residual network, updated in place
+		 * @return The amount of flow pushed
+		 */
+		int maxFlow(ResidualNetwork network);
+	}
+
 	/**
 	 * Computes the maximum flow in a FlowNetwork using the Ford-Fulkerson
 	 * algorithm.
 	 *
+	 * The residual network is built once, and every augmentation only updates
+	 * the arcs of its path. The path finder sees it through a ResidualGraph
+	 * view, and the flows are written back to the FlowEdges at the end.
+	 *
 	 * @param fn         The initial flow network
 	 * @param pathFinder The strategy used to find augmenting paths in the residual
 	 *                   graph
 	 * @return The FlowNetwork with the updated maximum flow
 	 */
 	public static FlowNetwork maxFlow(FlowNetwork fn, PathFinder pathFinder) {
+		ResidualNetwork network = ResidualNetwork.of(fn);
+		maxFlow(network, pathFinder);
+		network.writeBack();
+		return fn;
+	}
+
+	/**
+	 * Pushes flow along the augmenting paths found in a residual network until
+	 * there is none left.
+	 *
+	 * @param network    The residual network, updated in place
+	 * @param pathFinder The strategy used to find augmenting paths
+	 * @return The amount of flow pushed, 0 if the source is the target
+	 */
+	public static int maxFlow(ResidualNetwork network, PathFinder pathFinder) {
+		// Else the path [s] would be found again and again
+		if (network.nbNodes() == 0 || network.source() == network.target()) {
+			return 0;
+		}
+		ResidualGraph r = ResidualGraph.of(network);
+		Node source = r.sourceNode();
+		Node target = r.targetNode();
+		int total = 0;
 
 		while (true) {
-			ResidualGraph r = ResidualGraph.from(fn);
-			List<Node> path = pathFinder.findPath(r, r.sourceNode(), r.targetNode());
+			List<Node> path = pathFinder.findPath(r, source, target);
 
 			if (path == null) {
 				break;
 			}
 
 			int delta = r.bottleneckOf(path);
-			fn.addFlow(path, delta);
+			network.augment(path, delta);
+			total += delta;
 		}
+		return total;
+	}
+
+	/**
+	 * Computes the maximum flow in a FlowNetwork with any algorithm, starting
+	 * from its current flows. The flows are written back to its FlowEdges.
+	 *
+	 * @param fn     The flow network
+	 * @param solver The maximum flow algorithm
+	 * @return The FlowNetwork with the updated maximum flow
+	 */
+	public static FlowNetwork maxFlow(FlowNetwork fn, Solver solver) {
+		ResidualNetwork network = ResidualNetwork.of(fn);
+		solver.maxFlow(network);
+		network.writeBack();
 		return fn;
 	}
+
+	/**
+	 * Computes the maximum flow in a FlowNetwork with any algorithm, like
+	 * maxFlow, and reads a minimum cut from the final residual network.
+	 *
+	 * @param fn     The flow network, whose flows are updated
+	 * @param solver The maximum flow algorithm
+	 * @return The minimum cut of the FlowNetwork
+	 */
+	public static MinCut minCut(FlowNetwork fn, Solver solver) {
+		ResidualNetwork network = ResidualNetwork.of(fn);
+		solver.maxFlow(network);
+		network.writeBack();
+		return MinCut.of(network);
+	}
 }
@@ -0,0 +1,322 @@
+package m1maxflow2025;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the maximum flow of a flow network whose capacities change.
+ *
+ * The residual network is built and solved once. After that, every change of
+ * capacities starts from the current flow. An edge whose flow is now above
+ * its capacity has its flow lowered to it. Its tail is then left with an
+ * excess, which is sent along a residual path to its head or to the nearest
+ * terminal, and whatever deficit its head still has is filled from the
+ * nearest terminal. The head must be a goal as well, as the flow may contain
+ * circulations: the flow of an edge on a cycle can only go back to its head.
+ * Shortest augmenting paths then restore a maximum flow. The searches stop
+ * as soon as they reach their goal and use stamped arrays, so nothing is
+ * cleared or rebuilt. Only the FlowEdges whose flow or capacity changed are
+ * written back.
+ *
+ * The nodes and edges of the flow network must not change while it is
+ * maintained, and its flows must only be changed through this class. The
+ * starting flows are checked to be valid, so that a change of capacities
+ * cannot fail half-way.
+ */
+public class IncrementalMaxFlow {
+	private final ResidualNetwork network;
+	private final int s;
+	private final int t;
+	private final int[] seen;
+	private final int[] parentArc;
+	private final int[] queue;
+	private int stamp;
+	// Edges to write back, each one listed once per change
+	private final int[] dirty;
+	private final int[] touched;
+	private int nbTouched;
+	private int change;
+	private int value;
+
+	/**
+	 * Solves a flow network with Dinic's algorithm, starting from its current
+	 * flows.
+	 *
+	 * @param fn The flow network
+	 */
+	public IncrementalMaxFlow(FlowNetwork fn) {
+		this(fn, Solver.dinic());
+	}
+
+	/**
+	 * Solves a flow network, starting from its current flows.
+	 *
+	 * @param fn     The flow network
+	 * @param solver The algorithm of the first resolution
+	 * @throws IllegalArgumentException if a flow is negative or above its
+	 *                                  capacity, or the flow is not conserved
+	 *                                  at a node other than the terminals
+	 */
+	public IncrementalMaxFlow(FlowNetwork fn, FordFulkerson.Solver solver) {
+		network = ResidualNetwork.of(fn);
+		s = network.source();
+		t = network.target();
+		int n = network.nbNodes();
+		seen = new int[n];
+		parentArc = new int[n];
+		queue = new int[n];
+		dirty = new int[network.nbEdges()];
+		touched = new int[network.nbEdges()];
+		requireValidFlow();
+		solver.maxFlow(network);
+		network.writeBack();
+		value = network.flowValue();
+	}
+
+	/**
+	 * Checks that the flow is valid, which guarantees that every excess and
+	 * deficit left by a lowered capacity can be routed.
+	 */
+	private void requireValidFlow() {
+		int[] balance = new int[network.nbNodes()];
+		for (int e = 0; e < network.nbEdges(); e++) {
+			if (network.residual(2 * e) < 0 || network.residual(2 * e + 1) < 0) {
+				throw new IllegalArgumentException("Flow out of the capacity bounds: " + network.edgeOf(2 * e));
+			}
+			int flow = network.flow(e);
+			balance[network.tail(2 * e)] -= flow;
+			balance[network.head(2 * e)] += flow;
+		}
+		for (int u = 0; u < balance.length; u++) {
+			if (balance[u] != 0 && u != s && u != t) {
+				throw new IllegalArgumentException("Flow not conserved at node " + network.node(u));
+			}
+		}
+	}
+
+	/**
+	 * @return The residual network of the current flow
+	 */
+	public ResidualNetwork getNetwork() {
+		return network;
+	}
+
+	/**
+	 * @return The value of the current maximum flow
+	 */
+	public int value() {
+		return value;
+	}
+
+	/**
+	 * @return The minimum cut of the current maximum flow
+	 */
+	public MinCut minCut() {
+		return MinCut.of(network);
+	}
+
+	/**
+	 * Changes the capacity of an edge and restores a maximum flow.
+	 *
+	 * @param edge  An edge of the flow network
+	 * @param delta The change of its capacity
+	 * @return The value of the new maximum flow
+	 * @throws IllegalArgumentException if the capacity would become negative
+	 */
+	public int changeCapacity(FlowEdge edge, int delta) {
+		return changeCapacities(List.of(edge), new int[] { delta });
+	}
+
+	/**
+	 * Changes the capacities of several edges and restores a maximum flow.
+	 *
+	 * @param edges  Edges of the flow network
+	 * @param deltas The change of capacity of every edge
+	 * @return The value of the new maximum flow
+	 * @throws IllegalArgumentException         if the lists differ in length, or a
+	 *                                          capacity would become negative
+	 * @throws java.util.NoSuchElementException if an edge is not in the network
+	 */
+	public int changeCapacities(List<FlowEdge> edges, int[] deltas) {
+		if (edges.size() != deltas.length) {
+			throw new IllegalArgumentException("One delta is needed per edge");
+		}
+		// Checked before any change, an edge being possibly listed twice
+		int[] arcs = new int[deltas.length];
+		Map<Integer, Integer> capacities = new HashMap<>();
+		for (int i = 0; i < arcs.length; i++) {
+			int a = network.forwardArc(edges.get(i));
+			arcs[i] = a;
+			int capacity = capacities.getOrDefault(a, network.residual(a) + network.residual(a + 1)) + deltas[i];
+			if (capacity < 0) {
+				throw new IllegalArgumentException("Capacity cannot be negative: " + edges.get(i));
+			}
+			capacities.put(a, capacity);
+		}
+
+		change++;
+		nbTouched = 0;
+		for (int i = 0; i < arcs.length; i++) {
+			int a = arcs[i];
+			touch(a);
+			int overflow = network.changeCapacity(a >> 1, deltas[i]);
+			int u = network.tail(a);
+			int v = network.head(a);
+			if (overflow > 0 && u != v) {
+				int deficit = overflow;
+				if (u != s && u != t) {
+					deficit -= drainExcess(u, overflow, v);
+				}
+				if (v != s && v != t) {
+					fillDeficit(v, deficit);
+				}
+			}
+		}
+		while (augment()) {
+			// Each augmentation saturates an arc of a shortest path
+		}
+
+		// Flows first, as a FlowEdge rejects a capacity below its flow
+		for (int i = 0; i < nbTouched; i++) {
+			int e = touched[i];
+			network.edgeOf(2 * e).setFlow(network.flow(e));
+		}
+		for (int i = 0; i < nbTouched; i++) {
+			int e = touched[i];
+			network.edgeOf(2 * e).setCapacity(network.residual(2 * e) + network.residual(2 * e + 1));
+		}
+		value = network.flowValue();
+		return value;
+	}
+
+	/**
+	 * Sends an excess from a node to the nearest terminal or to the node
+	 * holding the matching deficit.
+	 *
+	 * @return The amount of flow sent to that node
+	 */
+	private int drainExcess(int u, int excess, int v) {
+		int toV = 0;
+		while (excess > 0) {
+			int z = search(u, true, v);
+			int delta = excess;
+			for (int w = z; w != u; w = network.tail(parentArc[w])) {
+				delta = Math.min(delta, network.residual(parentArc[w]));
+			}
+			for (int w = z; w != u; w = network.tail(parentArc[w])) {
+				push(parentArc[w], delta);
+			}
+			excess -= delta;
+			if (z == v) {
+				toV += delta;
+			}
+		}
+		return toV;
+	}
+
+	/**
+	 * Fills a deficit of a node from the nearest terminal.
+	 */
+	private void fillDeficit(int v, int deficit) {
+		while (deficit > 0) {
+			int z = search(v, false, -1);
+			int delta = deficit;
+			for (int w = z; w != v; w = network.head(parentArc[w])) {
+				delta = Math.min(delta, network.residual(parentArc[w]));
+			}
+			for (int w = z; w != v; w = network.head(parentArc[w])) {
+				push(parentArc[w], delta);
+			}
+			deficit -= delta;
+		}
+	}
+
+	/**
+	 * Breadth-first search from a node to the nearest terminal or other goal
+	 * through the arcs with a positive residual capacity, followed forward or
+	 * backward. By flow decomposition, a node holding an excess always reaches
+	 * a terminal or the node holding the matching deficit, and once that
+	 * excess is gone, a node lacking flow reaches a terminal backward.
+	 *
+	 * @param goal Another node to stop at, or -1
+	 * @return The node found, whose path is given by parentArc
+	 */
+	private int search(int start, boolean forward, int goal) {
+		stamp++;
+		seen[start] = stamp;
+		int first = 0;
+		int last = 0;
+		queue[last++] = start;
+		while (first < last) {
+			int w = queue[first++];
+			for (int i = network.arcBegin(w); i < network.arcEnd(w); i++) {
+				// Backward, the pair of an arc leaving w enters w
+				int a = forward ? network.arcAt(i) : network.arcAt(i) ^ 1;
+				int x = forward ? network.head(a) : network.tail(a);
+				if (seen[x] != stamp && network.residual(a) > 0) {
+					seen[x] = stamp;
+					parentArc[x] = a;
+					if (x == s || x == t || x == goal) {
+						return x;
+					}
+					queue[last++] = x;
+				}
+			}
+		}
+		// Cannot happen from a valid flow, which the constructor checks
+		throw new IllegalStateException("No residual path to a terminal");
+	}
+
+	/**
+	 * Pushes flow along a shortest augmenting path, if there is one.
+	 *
+	 * @return true if the flow increased
+	 */
+	private boolean augment() {
+		if (seen.length == 0 || s == t) {
+			return false;
+		}
+		stamp++;
+		seen[s] = stamp;
+		int first = 0;
+		int last = 0;
+		queue[last++] = s;
+		while (first < last && seen[t] != stamp) {
+			int u = queue[first++];
+			for (int i = network.arcBegin(u); i < network.arcEnd(u); i++) {
+				int a = network.arcAt(i);
+				int v = network.head(a);
+				if (seen[v] != stamp && network.residual(a) > 0) {
+					seen[v] = stamp;
+					parentArc[v] = a;
+					queue[last++] = v;
+				}
+			}
+		}
+		if (seen[t] != stamp) {
+			return false;
+		}
+		int delta = Integer.MAX_VALUE;
+		for (int v = t; v != s; v = network.tail(parentArc[v])) {
+			delta = Math.min(delta, network.residual(parentArc[v]));
+		}
+		for (int v = t; v != s; v = network.tail(parentArc[v])) {
+			push(parentArc[v], delta);
+		}
+		return true;
+	}
+
+	private void push(int a, int delta) {
+		network.push(a, delta);
+		touch(a);
+	}
+
+	private void touch(int a) {
+		int e = a >> 1;
+		if (dirty[e] != change) {
+			dirty[e] = change;
+			touched[nbTouched++] = e;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package m1maxflow2025;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import m1graphs2025.Node;
+
+/**
+ * Represents a minimum cut of a flow network, read from the residual network
+ * of a maximum flow.
+ *
+ * The source side is the set of the nodes the source still reaches through
+ * arcs with a positive residual capacity; the cut edges go from it to the
+ * other side, are all saturated, and their capacities add up to the value of
+ * the flow. Nodes are numbered as in the ResidualNetwork, by increasing id.
+ */
+public class MinCut {
+	private final ResidualNetwork network;
+	private final BitSet sourceSide;
+	private final List<FlowEdge> edges;
+	private final int capacity;
+
+	private MinCut(ResidualNetwork network, BitSet sourceSide, List<FlowEdge> edges, int capacity) {
+		this.network = network;
+		this.sourceSide = sourceSide;
+		this.edges = edges;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Reads the cut of a residual network holding a maximum flow, such as the
+	 * one a FordFulkerson.Solver just ran on.
+	 *
+	 * @param network The residual network
+	 * @return The minimum cut
+	 */
+	public static MinCut of(ResidualNetwork network) {
+		int n = network.nbNodes();
+		BitSet sourceSide = new BitSet(n);
+		if (n > 0) {
+			int[] queue = new int[n];
+			int first = 0;
+			int last = 0;
+			queue[last++] = network.source();
+			sourceSide.set(network.source());
+			while (first < last) {
+				int u = queue[first++];
+				for (int i = network.arcBegin(u); i < network.arcEnd(u); i++) {
+					int a = network.arcAt(i);
+					int v = network.head(a);
+					if (network.residual(a) > 0 && !sourceSide.get(v)) {
+						sourceSide.set(v);
+						queue[last++] = v;
+					}
+				}
+			}
+		}
+
+		List<FlowEdge> edges = new ArrayList<>();
+		int capacity = 0;
+		for (int e = 0; e < network.nbEdges(); e++) {
+			if (sourceSide.get(network.tail(2 * e)) && !sourceSide.get(network.head(2 * e))) {
+				FlowEdge edge = network.edgeOf(2 * e);
+				edges.add(edge);
+				capacity += edge.getWeight();
+			}
+		}
+		return new MinCut(network, sourceSide, edges, capacity);
+	}
+
+	/**
+	 * Reads the cut of a flow network from its current flows, which must form
+	 * a maximum flow.
+	 *
+	 * @param fn The flow network
+	 * @return The minimum cut
+	 */
+	public static MinCut of(FlowNetwork fn) {
+		return of(ResidualNetwork.of(fn));
+	}
+
+	/**
+	 * @return The residual network of the cut
+	 */
+	public ResidualNetwork getNetwork() {
+		return network;
+	}
+
+	/**
+	 * @return A copy of the set of the indices of the source side nodes
+	 */
+	public BitSet sourceSide() {
+		return (BitSet) sourceSide.clone();
+	}
+
+	/**
+	 * @param n A node of the flow network
+	 * @return true if n is on the source side
+	 */
+	public boolean isOnSourceSide(Node n) {
+		int u = network.indexOf(n);
+		return u >= 0 && sourceSide.get(u);
+	}
+
+	/**
+	 * @return The nodes of the source side, by increasing id
+	 */
+	public List<Node> sourceNodes() {
+		List<Node> nodes = new ArrayList<>();
+		for (int u = sourceSide.nextSetBit(0); u >= 0; u = sourceSide.nextSetBit(u + 1)) {
+			nodes.add(network.node(u));
+		}
+		return nodes;
+	}
+
+	/**
+	 * @return The edges from the source side to the other one
+	 */
+	public List<FlowEdge> edges() {
+		return new ArrayList<>(edges);
+	}
+
+	/**
+	 * @return The total capacity of the cut edges, the value of the maximum flow
+	 */
+	public int capacity() {
+		return capacity;
+	}
+}
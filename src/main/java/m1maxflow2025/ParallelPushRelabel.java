@@ -0,0 +1,236 @@
+package m1maxflow2025;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Implements a parallel push-relabel algorithm for computing the maximum flow
+ * in a flow network, following the lock-free scheme of Hong and He.
+ *
+ * The active nodes are discharged concurrently, round after round. Residual
+ * capacities, excesses and heights are atomic, and every node is discharged
+ * by one thread at a time: a thread only lowers the residual capacities of
+ * the arcs leaving its node, and the other ones can only raise them or add
+ * excess, so no lock is needed. Each step pushes to the lowest residual
+ * neighbour if it is lower than the node, and else lifts the node just above
+ * it. Between rounds, once enough relabelling work has been done, a parallel
+ * breadth-first search from the target sets every height to its exact
+ * distance.
+ *
+ * Only the maximum preflow is parallel: the excess left in the nodes that
+ * cannot reach the target is sent back to the source sequentially, which is
+ * usually a small part of the work.
+ *
+ * An instance can be reused for several networks, one at a time.
+ */
+public class ParallelPushRelabel implements FordFulkerson.Solver {
+	private final ForkJoinPool pool;
+	private int rounds;
+	private int globalRelabels;
+
+	/**
+	 * Creates a solver running in the common pool
+	 */
+	public ParallelPushRelabel() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a solver running in a given pool, which sets the number of
+	 * threads
+	 *
+	 * @param pool the pool of the discharging threads
+	 */
+	public ParallelPushRelabel(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * @return the number of rounds of the last run
+	 */
+	public int rounds() {
+		return rounds;
+	}
+
+	/**
+	 * @return the number of global relabels of the last run
+	 */
+	public int globalRelabels() {
+		return globalRelabels;
+	}
+
+	/**
+	 * Computes the maximum flow in a FlowNetwork, starting from its current
+	 * flows.
+	 *
+	 * @param fn The flow network
+	 * @return The FlowNetwork with the updated maximum flow
+	 */
+	public FlowNetwork maxFlow(FlowNetwork fn) {
+		return FordFulkerson.maxFlow(fn, this);
+	}
+
+	@Override
+	public int maxFlow(ResidualNetwork network) {
+		rounds = 0;
+		globalRelabels = 0;
+		if (network.nbNodes() == 0 || network.source() == network.target()) {
+			return 0;
+		}
+		Run run = new Run(network);
+		int value = pool.submit(run::maxPreflow).join();
+		rounds = run.round;
+		globalRelabels = run.relabels;
+
+		// Copied back through the forward arcs, which also sets their pairs
+		for (int e = 0; e < network.nbEdges(); e++) {
+			network.push(2 * e, network.residual(2 * e) - run.residual.get(2 * e));
+		}
+		PushRelabel.toFlow(network);
+		return value;
+	}
+
+	/**
+	 * State of one run
+	 */
+	private static final class Run {
+		private final ResidualNetwork network;
+		private final int n;
+		private final int s;
+		private final int t;
+		private final AtomicIntegerArray residual;
+		private final AtomicLongArray excess;
+		private final AtomicIntegerArray height;
+		// Round in which every node was last queued, to queue it once per round
+		private final AtomicIntegerArray queued;
+		private final LongAdder work = new LongAdder();
+		private final long globalRelabelWork;
+		private int round;
+		private int relabels;
+
+		Run(ResidualNetwork network) {
+			this.network = network;
+			n = network.nbNodes();
+			s = network.source();
+			t = network.target();
+			residual = new AtomicIntegerArray(network.nbArcs());
+			for (int a = 0; a < network.nbArcs(); a++) {
+				residual.set(a, network.residual(a));
+			}
+			excess = new AtomicLongArray(n);
+			height = new AtomicIntegerArray(n);
+			queued = new AtomicIntegerArray(n);
+			globalRelabelWork = 6L * n + network.nbArcs() / 2;
+		}
+
+		/**
+		 * @return the value of the maximum preflow
+		 */
+		int maxPreflow() {
+			for (int i = network.arcBegin(s); i < network.arcEnd(s); i++) {
+				int a = network.arcAt(i);
+				int r = residual.get(a);
+				int v = network.head(a);
+				if (r > 0 && v != s) {
+					residual.addAndGet(a, -r);
+					residual.addAndGet(a ^ 1, r);
+					excess.addAndGet(s, -r);
+					excess.addAndGet(v, r);
+				}
+			}
+
+			int[] active = globalRelabel();
+			while (active.length > 0) {
+				round++;
+				active = IntStream.of(active).parallel().flatMap(this::discharge).toArray();
+				if (work.sum() > globalRelabelWork) {
+					active = globalRelabel();
+				}
+			}
+			return (int) excess.get(t);
+		}
+
+		/**
+		 * Discharges a node until it is empty or cannot reach the target anymore.
+		 *
+		 * @return the nodes to discharge in the next round
+		 */
+		private IntStream discharge(int u) {
+			IntStream.Builder next = IntStream.builder();
+			int h = height.get(u);
+			while (h < n && excess.get(u) > 0) {
+				int best = -1;
+				int lowest = Integer.MAX_VALUE;
+				for (int i = network.arcBegin(u); i < network.arcEnd(u); i++) {
+					int a = network.arcAt(i);
+					int v = network.head(a);
+					if (v != u && residual.get(a) > 0 && height.get(v) < lowest) {
+						lowest = height.get(v);
+						best = a;
+					}
+				}
+				if (best < 0) {
+					h = n;
+					height.set(u, h);
+					break;
+				}
+				if (h > lowest) {
+					int v = network.head(best);
+					int delta = (int) Math.min(excess.get(u), residual.get(best));
+					residual.addAndGet(best, -delta);
+					residual.addAndGet(best ^ 1, delta);
+					excess.addAndGet(u, -delta);
+					if (excess.getAndAdd(v, delta) == 0 && v != s && v != t) {
+						queue(v, next);
+					}
+				} else {
+					h = lowest + 1;
+					height.set(u, h);
+					work.add(network.arcEnd(u) - network.arcBegin(u) + 12);
+				}
+			}
+			// Excess pushed in while it was being discharged
+			if (h < n && excess.get(u) > 0) {
+				queue(u, next);
+			}
+			return next.build();
+		}
+
+		private void queue(int v, IntStream.Builder next) {
+			if (queued.getAndSet(v, round) != round) {
+				next.add(v);
+			}
+		}
+
+		/**
+		 * Sets every height to the exact distance to the target, n for the nodes
+		 * that cannot reach it, with a parallel breadth-first search.
+		 *
+		 * @return the active nodes
+		 */
+		private int[] globalRelabel() {
+			relabels++;
+			work.reset();
+			IntStream.range(0, n).parallel().forEach(u -> height.set(u, n));
+			height.set(t, 0);
+			int[] level = { t };
+			for (int d = 1; level.length > 0; d++) {
+				int next = d;
+				// The pair of an arc leaving v enters v
+				level = IntStream.of(level).parallel()
+						.flatMap(v -> IntStream.range(network.arcBegin(v), network.arcEnd(v))
+								.map(network::arcAt)
+								.filter(a -> network.head(a) != s && residual.get(a ^ 1) > 0
+										&& height.compareAndSet(network.head(a), n, next))
+								.map(network::head))
+						.toArray();
+			}
+			return IntStream.range(0, n).parallel()
+					.filter(u -> u != s && u != t && height.get(u) < n && excess.get(u) > 0)
+					.toArray();
+		}
+	}
+}
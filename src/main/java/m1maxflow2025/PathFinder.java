@@ -4,12 +4,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
-import java.util.Queue;
-import java.util.Stack;
+import java.util.function.IntFunction;
 
 import m1graphs2025.Edge;
 import m1graphs2025.Node;
@@ -25,65 +23,147 @@ public class PathFinder {
 	 * Returns a FordFulkerson.PathFinder implementation that uses Breadth-First
 	 * Search (BFS) to find an augmenting path in the residual graph. This strategy
 	 * corresponds to the Edmonds-Karp algorithm.
+	 * The returned instance reuses its arrays between searches and must not be
+	 * shared between threads.
 	 *
 	 * @return A PathFinder instance using BFS.
 	 */
 	public static FordFulkerson.PathFinder bfsPathFinder() {
-		return (residual, source, target) -> {
-			Queue<List<Node>> queue = new LinkedList<>();
-			List<Node> startPath = new ArrayList<>();
-			startPath.add(source);
-			queue.add(startPath);
-
-			while (!queue.isEmpty()) {
-				List<Node> path = queue.poll();
-				Node last = path.get(path.size() - 1);
-				if (last.equals(target)) {
-					return path;
-				}
-
-				for (Node succ : residual.getSuccessors(last)) {
-					if (!path.contains(succ)) {
-						List<Node> newPath = new ArrayList<>(path);
-						newPath.add(succ);
-						queue.add(newPath);
-					}
-				}
-			}
-			return null;
-		};
+		return new ParentSearch(false);
 	}
 
 	/**
 	 * Returns a FordFulkerson.PathFinder implementation that uses Depth-First
 	 * Search (DFS) to find an augmenting path in the residual graph.
+	 * The returned instance reuses its arrays between searches and must not be
+	 * shared between threads.
 	 *
 	 * @return A PathFinder instance using DFS.
 	 */
 	public static FordFulkerson.PathFinder dfsPathFinder() {
-		return (residual, source, target) -> {
-			Stack<List<Node>> stack = new Stack<>();
-			List<Node> startPath = new ArrayList<>();
-			startPath.add(source);
-			stack.push(startPath);
-
-			while (!stack.isEmpty()) {
-				List<Node> path = stack.pop();
-				Node last = path.get(path.size() - 1);
-				if (last.equals(target)) {
-					return path;
+		return new ParentSearch(true);
+	}
+
+	/**
+	 * Breadth-first or depth-first search expanding every node once, which
+	 * records the parent of the nodes it finds and builds only the final path.
+	 * The depth-first one always expands the node found last.
+	 * Nodes are numbered, by the ResidualNetwork of a view, else by position,
+	 * and marked in arrays reused from one search to the next with a stamp,
+	 * so they are never cleared.
+	 */
+	private static final class ParentSearch implements FordFulkerson.PathFinder {
+		private final boolean depthFirst;
+		private int[] seen = new int[0];
+		private int[] parent = new int[0];
+		private int[] pending = new int[0];
+		private int first;
+		private int last;
+		private int stamp;
+
+		ParentSearch(boolean depthFirst) {
+			this.depthFirst = depthFirst;
+		}
+
+		@Override
+		public List<Node> findPath(ResidualGraph residual, Node source, Node target) {
+			ResidualNetwork network = residual.getNetwork();
+			if (network != null) {
+				return findPath(residual, network, network.indexOf(source), network.indexOf(target));
+			}
+
+			List<Node> nodes = residual.getAllNodes();
+			Map<Node, Integer> index = new HashMap<>();
+			for (int i = 0; i < nodes.size(); i++) {
+				index.put(nodes.get(i), i);
+			}
+			Integer s = index.get(source);
+			Integer t = index.get(target);
+			if (s == null || t == null) {
+				return null;
+			}
+			start(nodes.size(), s);
+			if (s.equals(t)) {
+				return path(t, nodes::get);
+			}
+			while (first < last) {
+				int u = next();
+				for (Edge e : residual.getOutEdges(nodes.get(u))) {
+					int v = index.get(e.to());
+					if (discover(v, u) && v == t) {
+						return path(t, nodes::get);
+					}
 				}
+			}
+			return null;
+		}
 
-				for (Node succ : residual.getSuccessors(last)) {
-					if (!path.contains(succ)) {
-						List<Node> newPath = new ArrayList<>(path);
-						newPath.add(succ);
-						stack.push(newPath);
+		private List<Node> findPath(ResidualGraph residual, ResidualNetwork network, int s, int t) {
+			if (s < 0 || t < 0) {
+				return null;
+			}
+			start(network.nbNodes(), s);
+			if (s == t) {
+				return path(t, w -> residual.getNode(network.id(w)));
+			}
+			while (first < last) {
+				int u = next();
+				for (int i = network.arcBegin(u); i < network.arcEnd(u); i++) {
+					int a = network.arcAt(i);
+					int v = network.head(a);
+					if (network.residual(a) > 0 && discover(v, u) && v == t) {
+						return path(t, w -> residual.getNode(network.id(w)));
 					}
 				}
 			}
 			return null;
-		};
+		}
+
+		private void start(int n, int s) {
+			if (seen.length < n) {
+				seen = new int[n];
+				parent = new int[n];
+				pending = new int[n];
+				stamp = 0;
+			}
+			stamp++;
+			first = 0;
+			last = 0;
+			seen[s] = stamp;
+			parent[s] = -1;
+			pending[last++] = s;
+		}
+
+		/**
+		 * @return the oldest pending node for a BFS, the newest for a DFS
+		 */
+		private int next() {
+			return depthFirst ? pending[--last] : pending[first++];
+		}
+
+		/**
+		 * Records a node found from u.
+		 *
+		 * @return true if v was found for the first time
+		 */
+		private boolean discover(int v, int u) {
+			if (seen[v] == stamp) {
+				return false;
+			}
+			seen[v] = stamp;
+			parent[v] = u;
+			pending[last++] = v;
+			return true;
+		}
+
+		private List<Node> path(int t, IntFunction<Node> node) {
+			List<Node> path = new ArrayList<>();
+			for (int v = t; v >= 0; v = parent[v]) {
+				path.add(node.apply(v));
+			}
+			Collections.reverse(path);
+			return path;
+		}
 	}
 
 	/**
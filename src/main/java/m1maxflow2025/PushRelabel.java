@@ -0,0 +1,325 @@
+package m1maxflow2025;
+
+import java.util.Arrays;
+
+/**
+ * Implements the highest-label push-relabel algorithm for computing the
+ * maximum flow in a flow network.
+ *
+ * Instead of looking for paths, it floods the network from the source: every
+ * node may hold an excess of incoming flow, which it pushes to neighbours one
+ * level lower, its height being raised when it has none. The active node of
+ * greatest height is always discharged first.
+ *
+ * The first phase only moves the excess of the nodes below n, the number of
+ * nodes: the others can no longer reach the target, so when it ends the flow
+ * into the target is maximum and the minimum cut is known. The second phase
+ * sends the excess left back to the source, which turns the preflow into a
+ * flow. Two heuristics keep the first phase short: a global relabel sets
+ * every height to the exact distance to the target after a given amount of
+ * relabelling work, and a gap, a height with no node, lifts all the nodes
+ * above it out of the phase at once.
+ */
+public class PushRelabel {
+	private final ResidualNetwork network;
+	private final int n;
+	private final int s;
+	private final int t;
+	private final int[] height;
+	private final long[] excess;
+	private final int[] current;
+	private final int[] queue;
+
+	// Active nodes by height, as linked stacks
+	private final int[] activeHead;
+	private final int[] activeNext;
+	private int highest;
+
+	// Nodes below n by height, as doubly linked lists, to detect gaps
+	private final int[] levelHead;
+	private final int[] levelNext;
+	private final int[] levelPrev;
+	private int highestLevel;
+
+	private final long globalRelabelWork;
+	private long work;
+
+	private PushRelabel(ResidualNetwork network) {
+		this.network = network;
+		n = network.nbNodes();
+		s = network.source();
+		t = network.target();
+		height = new int[n];
+		excess = new long[n];
+		current = new int[n];
+		queue = new int[n];
+		activeHead = new int[2 * n + 1];
+		activeNext = new int[n];
+		levelHead = new int[n];
+		levelNext = new int[n];
+		levelPrev = new int[n];
+		globalRelabelWork = 6L * n + network.nbArcs() / 2;
+	}
+
+	/**
+	 * Computes the maximum flow in a FlowNetwork, starting from its current
+	 * flows.
+	 *
+	 * @param fn The flow network
+	 * @return The FlowNetwork with the updated maximum flow
+	 */
+	public static FlowNetwork maxFlow(FlowNetwork fn) {
+		ResidualNetwork network = ResidualNetwork.of(fn);
+		maxFlow(network);
+		network.writeBack();
+		return fn;
+	}
+
+	/**
+	 * Saturates a residual network in place, from its source to its target.
+	 *
+	 * @param network The residual network
+	 * @return The amount of flow pushed
+	 */
+	public static int maxFlow(ResidualNetwork network) {
+		if (network.nbNodes() == 0 || network.source() == network.target()) {
+			return 0;
+		}
+		return new PushRelabel(network).run();
+	}
+
+	private int run() {
+		// Phase 1: maximum preflow
+		height[s] = n;
+		for (int i = network.arcBegin(s); i < network.arcEnd(s); i++) {
+			int a = network.arcAt(i);
+			int r = network.residual(a);
+			int v = network.head(a);
+			if (r > 0 && v != s) {
+				network.push(a, r);
+				excess[s] -= r;
+				excess[v] += r;
+			}
+		}
+		globalRelabel();
+		for (int u = nextActive(); u >= 0; u = nextActive()) {
+			discharge(u, n, true);
+			if (work > globalRelabelWork) {
+				globalRelabel();
+			}
+		}
+		int value = (int) excess[t];
+
+		// Phase 2: the excess left goes back to the source
+		returnExcess();
+		return value;
+	}
+
+	/**
+	 * Turns the preflow held by a residual network into a flow of the same
+	 * value, by sending the excess of every node but the target back to the
+	 * source. The excesses are those of the flows of the network.
+	 *
+	 * @param network The residual network, updated in place
+	 */
+	static void toFlow(ResidualNetwork network) {
+		if (network.nbNodes() == 0 || network.source() == network.target()) {
+			return;
+		}
+		PushRelabel engine = new PushRelabel(network);
+		for (int e = 0; e < network.nbEdges(); e++) {
+			int flow = network.flow(e);
+			engine.excess[network.head(2 * e)] += flow;
+			engine.excess[network.tail(2 * e)] -= flow;
+		}
+		engine.returnExcess();
+	}
+
+	private void returnExcess() {
+		distancesToSource();
+		for (int u = nextActive(); u >= 0; u = nextActive()) {
+			discharge(u, 2 * n, false);
+		}
+	}
+
+	/**
+	 * Pushes the excess of a node until it is empty or the node reaches the
+	 * limit height.
+	 */
+	private void discharge(int u, int limit, boolean gaps) {
+		int end = network.arcEnd(u);
+		while (excess[u] > 0) {
+			if (current[u] == end) {
+				relabel(u, gaps);
+				if (height[u] >= limit) {
+					return;
+				}
+				continue;
+			}
+			int a = network.arcAt(current[u]);
+			int r = network.residual(a);
+			int v = network.head(a);
+			if (r > 0 && height[u] == height[v] + 1) {
+				int delta = (int) Math.min(excess[u], r);
+				network.push(a, delta);
+				if (excess[v] == 0 && v != s && v != t) {
+					activate(v);
+				}
+				excess[u] -= delta;
+				excess[v] += delta;
+			} else {
+				current[u]++;
+			}
+		}
+	}
+
+	/**
+	 * Raises a node just above its lowest residual neighbour.
+	 */
+	private void relabel(int u, boolean gaps) {
+		int h = 2 * n;
+		for (int i = network.arcBegin(u); i < network.arcEnd(u); i++) {
+			int a = network.arcAt(i);
+			int v = network.head(a);
+			if (network.residual(a) > 0 && v != u) {
+				h = Math.min(h, height[v] + 1);
+			}
+		}
+		work += network.arcEnd(u) - network.arcBegin(u) + 12;
+		current[u] = network.arcBegin(u);
+
+		if (gaps) {
+			int old = height[u];
+			removeLevel(u);
+			if (levelHead[old] < 0) {
+				// Nothing at the old height: the nodes above cannot reach the target
+				for (int level = old + 1; level <= highestLevel; level++) {
+					for (int v = levelHead[level]; v >= 0; v = levelNext[v]) {
+						height[v] = n;
+					}
+					levelHead[level] = -1;
+				}
+				highestLevel = old - 1;
+				h = n;
+			} else if (h < n) {
+				addLevel(u, h);
+			}
+		}
+		height[u] = h;
+	}
+
+	/**
+	 * Sets every height of phase 1 to the exact distance to the target, n for
+	 * the nodes that cannot reach it.
+	 */
+	private void globalRelabel() {
+		work = 0;
+		Arrays.fill(height, n);
+		height[t] = 0;
+		int first = 0;
+		int last = 0;
+		queue[last++] = t;
+		while (first < last) {
+			int v = queue[first++];
+			// The pair of an arc leaving v enters v
+			for (int i = network.arcBegin(v); i < network.arcEnd(v); i++) {
+				int a = network.arcAt(i);
+				int u = network.head(a);
+				if (height[u] == n && u != s && u != t && network.residual(a ^ 1) > 0) {
+					height[u] = height[v] + 1;
+					queue[last++] = u;
+				}
+			}
+		}
+
+		Arrays.fill(activeHead, -1);
+		Arrays.fill(levelHead, -1);
+		highest = -1;
+		highestLevel = -1;
+		for (int i = 0; i < last; i++) {
+			int u = queue[i];
+			addLevel(u, height[u]);
+			if (excess[u] > 0 && u != t) {
+				activate(u);
+			}
+		}
+		for (int u = 0; u < n; u++) {
+			current[u] = network.arcBegin(u);
+		}
+	}
+
+	/**
+	 * Sets every height of phase 2 to n plus the distance to the source, and
+	 * activates the nodes holding excess.
+	 */
+	private void distancesToSource() {
+		Arrays.fill(height, 2 * n);
+		height[s] = n;
+		int first = 0;
+		int last = 0;
+		queue[last++] = s;
+		while (first < last) {
+			int v = queue[first++];
+			for (int i = network.arcBegin(v); i < network.arcEnd(v); i++) {
+				int a = network.arcAt(i);
+				int u = network.head(a);
+				if (height[u] == 2 * n && u != t && network.residual(a ^ 1) > 0) {
+					height[u] = height[v] + 1;
+					queue[last++] = u;
+				}
+			}
+		}
+
+		Arrays.fill(activeHead, -1);
+		highest = -1;
+		for (int u = 0; u < n; u++) {
+			current[u] = network.arcBegin(u);
+			if (excess[u] > 0 && u != s && u != t) {
+				activate(u);
+			}
+		}
+	}
+
+	private void activate(int u) {
+		int h = height[u];
+		activeNext[u] = activeHead[h];
+		activeHead[h] = u;
+		highest = Math.max(highest, h);
+	}
+
+	/**
+	 * @return the active node of greatest height, removed from its stack, or -1
+	 */
+	private int nextActive() {
+		while (highest >= 0 && activeHead[highest] < 0) {
+			highest--;
+		}
+		if (highest < 0) {
+			return -1;
+		}
+		int u = activeHead[highest];
+		activeHead[highest] = activeNext[u];
+		return u;
+	}
+
+	private void addLevel(int u, int h) {
+		levelPrev[u] = -1;
+		levelNext[u] = levelHead[h];
+		if (levelHead[h] >= 0) {
+			levelPrev[levelHead[h]] = u;
+		}
+		levelHead[h] = u;
+		highestLevel = Math.max(highestLevel, h);
+	}
+
+	private void removeLevel(int u) {
+		if (levelPrev[u] >= 0) {
+			levelNext[levelPrev[u]] = levelNext[u];
+		} else {
+			levelHead[height[u]] = levelNext[u];
+		}
+		if (levelNext[u] >= 0) {
+			levelPrev[levelNext[u]] = levelPrev[u];
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package m1maxflow2025;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import m1graphs2025.Edge;
@@ -11,10 +12,18 @@ import m1graphs2025.Node;
  * It contains forward edges (remaining capacity) and backward edges (current
  * flow)
  * to facilitate finding augmenting paths.
+ *
+ * A residual graph is either a copy of a Flow Network built by from, or a view
+ * of a ResidualNetwork built by of. A view copies nothing but the nodes: its
+ * edges are made on demand from the arcs with a positive residual capacity,
+ * so it always follows the augmentations of the network. A view must not be
+ * modified.
  */
 public class ResidualGraph extends Graph {
 	private List<Node> lastPath;
 	Integer residualCapacity;
+	private ResidualNetwork network;
+	private Node[] viewNodes;
 
 	/**
 	 * Default constructor for an empty Residual Graph.
@@ -56,6 +65,128 @@ public class ResidualGraph extends Graph {
 		return residualGraph;
 	}
 
+	/**
+	 * Creates a view of a residual network.
+	 *
+	 * @param network the residual network
+	 * @return a ResidualGraph following the residual capacities of network
+	 */
+	public static ResidualGraph of(ResidualNetwork network) {
+		ResidualGraph residualGraph = new ResidualGraph();
+		residualGraph.network = network;
+		residualGraph.viewNodes = new Node[network.nbNodes()];
+		for (int u = 0; u < network.nbNodes(); u++) {
+			Node node = new Node(network.id(u), network.node(u).getName(), residualGraph);
+			residualGraph.viewNodes[u] = node;
+			residualGraph.adjEdList.put(node, new ArrayList<>());
+		}
+		return residualGraph;
+	}
+
+	/**
+	 * @return the residual network of a view, or null for a copy
+	 */
+	public ResidualNetwork getNetwork() {
+		return network;
+	}
+
+	@Override
+	public Node getNode(int id) {
+		if (network == null) {
+			return super.getNode(id);
+		}
+		int u = network.indexOf(id);
+		return u < 0 ? null : viewNodes[u];
+	}
+
+	@Override
+	public boolean usesNode(int nodeId) {
+		if (network == null) {
+			return super.usesNode(nodeId);
+		}
+		int u = network.indexOf(nodeId);
+		return u >= 0 && viewNodes[u] != null;
+	}
+
+	@Override
+	protected List<Edge> getOut(int nodeId) {
+		if (network == null) {
+			return super.getOut(nodeId);
+		}
+		int u = network.indexOf(nodeId);
+		if (u < 0) {
+			return null;
+		}
+		List<Edge> lst = new ArrayList<>();
+		for (int i = network.arcBegin(u); i < network.arcEnd(u); i++) {
+			int a = network.arcAt(i);
+			if (network.residual(a) > 0) {
+				lst.add(new Edge(viewNodes[u], viewNodes[network.head(a)], this, network.residual(a)));
+			}
+		}
+		return lst;
+	}
+
+	@Override
+	protected List<Edge> getIn(int nodeId) {
+		if (network == null) {
+			return super.getIn(nodeId);
+		}
+		List<Edge> lst = new ArrayList<>();
+		int v = network.indexOf(nodeId);
+		if (v < 0) {
+			return lst;
+		}
+		// The pair of an arc leaving v enters v
+		for (int i = network.arcBegin(v); i < network.arcEnd(v); i++) {
+			int a = network.arcAt(i) ^ 1;
+			if (network.residual(a) > 0) {
+				lst.add(new Edge(viewNodes[network.tail(a)], viewNodes[v], this, network.residual(a)));
+			}
+		}
+		return lst;
+	}
+
+	@Override
+	public List<Edge> getEdges(Node u, Node v) {
+		if (network == null) {
+			return super.getEdges(u, v);
+		}
+		List<Edge> lst = new ArrayList<>();
+		for (Edge edge : getOut(u.getId())) {
+			if (edge.to().equals(v)) {
+				lst.add(edge);
+			}
+		}
+		return lst;
+	}
+
+	@Override
+	public List<Edge> getAllEdges() {
+		if (network == null) {
+			return super.getAllEdges();
+		}
+		List<Edge> lst = new ArrayList<>();
+		for (Node node : viewNodes) {
+			lst.addAll(getOut(node.getId()));
+		}
+		return lst;
+	}
+
+	@Override
+	public int nbEdges() {
+		if (network == null) {
+			return super.nbEdges();
+		}
+		int count = 0;
+		for (int a = 0; a < network.nbArcs(); a++) {
+			if (network.residual(a) > 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Identifies the source node of the graph (assumed to be the node with the
 	 * smallest ID if no "s" is found).
@@ -63,6 +194,9 @@ public class ResidualGraph extends Graph {
 	 * @return The source node
 	 */
 	public Node sourceNode() {
+		if (network != null) {
+			return viewNodes.length == 0 ? null : viewNodes[network.source()];
+		}
 		for (Node node : getAllNodes()) {
 			if (node.getName() != null && "s".equals(node.getName())) {
 				return getNode(node.getId());
@@ -78,6 +212,9 @@ public class ResidualGraph extends Graph {
 	 * @return The target node
 	 */
 	public Node targetNode() {
+		if (network != null) {
+			return viewNodes.length == 0 ? null : viewNodes[network.target()];
+		}
 		for (Node node : getAllNodes()) {
 			if (node.getName() != null && "t".equals(node.getName())) {
 				return getNode(node.getId());
@@ -110,6 +247,10 @@ public class ResidualGraph extends Graph {
 	}
 
 	private int getResidualCapacity(Node u, Node v) {
+		if (network != null) {
+			int a = network.findArc(network.indexOf(u), network.indexOf(v), 1);
+			return a < 0 ? 0 : network.residual(a);
+		}
 		for (Edge e : getOutEdges(u)) {
 			if (e.to() == v) {
 				return e.getWeight();
@@ -0,0 +1,391 @@
+package m1maxflow2025;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import m1graphs2025.Edge;
+import m1graphs2025.Node;
+
+/**
+ * Represents the residual network of a FlowNetwork with primitive arrays,
+ * built once and updated in place by every augmentation.
+ *
+ * Each FlowEdge i gets two paired arcs: the forward arc 2i, from its tail to
+ * its head, whose residual capacity is capacity - flow, and the reverse arc
+ * 2i + 1, whose residual capacity is the flow. The pair of an arc a is
+ * therefore a ^ 1, and pushing flow along an arc is O(1). The arcs leaving
+ * every node, in both directions, are listed contiguously.
+ *
+ * Nodes are indexed by increasing id. The flows are copied back to the
+ * FlowEdge objects only by writeBack.
+ */
+public class ResidualNetwork {
+	private final FlowNetwork network;
+	private final Node[] nodes;
+	private final int[] ids;
+	private final FlowEdge[] edges;
+	private final Map<FlowEdge, Integer> edgeIndex;
+	private final int[] head;
+	private final int[] residual;
+	private final int[] arcStart;
+	private final int[] arcs;
+	private final int source;
+	private final int target;
+
+	private ResidualNetwork(FlowNetwork network) {
+		this.network = network;
+		List<Node> nodeList = network.getAllNodes();
+		nodeList.sort(null);
+		int n = nodeList.size();
+		nodes = nodeList.toArray(new Node[0]);
+		ids = new int[n];
+		for (int i = 0; i < n; i++) {
+			ids[i] = nodes[i].getId();
+		}
+
+		List<Edge> edgeList = network.getAllEdges();
+		int m = edgeList.size();
+		edges = new FlowEdge[m];
+		edgeIndex = new IdentityHashMap<>(2 * m);
+		head = new int[2 * m];
+		residual = new int[2 * m];
+		arcStart = new int[n + 1];
+		for (int e = 0; e < m; e++) {
+			FlowEdge edge = (FlowEdge) edgeList.get(e);
+			edges[e] = edge;
+			edgeIndex.put(edge, e);
+			int u = indexOf(edge.from());
+			int v = indexOf(edge.to());
+			head[2 * e] = v;
+			head[2 * e + 1] = u;
+			residual[2 * e] = edge.getWeight() - edge.getFlow();
+			residual[2 * e + 1] = edge.getFlow();
+			arcStart[u + 1]++;
+			arcStart[v + 1]++;
+		}
+		for (int u = 0; u < n; u++) {
+			arcStart[u + 1] += arcStart[u];
+		}
+		arcs = new int[2 * m];
+		int[] fill = Arrays.copyOf(arcStart, n);
+		for (int a = 0; a < 2 * m; a++) {
+			arcs[fill[head[a ^ 1]]++] = a;
+		}
+
+		source = findNamed("s", 0);
+		target = findNamed("t", n - 1);
+	}
+
+	private int findNamed(String name, int otherwise) {
+		for (int i = 0; i < nodes.length; i++) {
+			if (name.equals(nodes[i].getName())) {
+				return i;
+			}
+		}
+		return otherwise;
+	}
+
+	/**
+	 * Builds the residual network of a flow network, from its current flows.
+	 *
+	 * @param fn the flow network
+	 * @return the residual network of fn
+	 */
+	public static ResidualNetwork of(FlowNetwork fn) {
+		return new ResidualNetwork(fn);
+	}
+
+	/**
+	 * @return the flow network of the residual network
+	 */
+	public FlowNetwork getNetwork() {
+		return network;
+	}
+
+	/**
+	 * @return the number of nodes
+	 */
+	public int nbNodes() {
+		return nodes.length;
+	}
+
+	/**
+	 * @return the number of FlowEdges, half the number of arcs
+	 */
+	public int nbEdges() {
+		return edges.length;
+	}
+
+	/**
+	 * @return the number of arcs
+	 */
+	public int nbArcs() {
+		return head.length;
+	}
+
+	/**
+	 * @param u the index of a node
+	 * @return the node of the flow network
+	 */
+	public Node node(int u) {
+		return nodes[u];
+	}
+
+	/**
+	 * @param u the index of a node
+	 * @return the id of the node
+	 */
+	public int id(int u) {
+		return ids[u];
+	}
+
+	/**
+	 * @param id the id of a node
+	 * @return the index of the node, or -1 if there is none
+	 */
+	public int indexOf(int id) {
+		int i = Arrays.binarySearch(ids, id);
+		return i >= 0 ? i : -1;
+	}
+
+	/**
+	 * @param n a node
+	 * @return the index of the node with the same id, or -1 if there is none
+	 */
+	public int indexOf(Node n) {
+		return indexOf(n.getId());
+	}
+
+	/**
+	 * @return the index of the source: the node named "s", else the one with
+	 *         the smallest id
+	 */
+	public int source() {
+		return source;
+	}
+
+	/**
+	 * @return the index of the target: the node named "t", else the one with
+	 *         the largest id
+	 */
+	public int target() {
+		return target;
+	}
+
+	/**
+	 * @param u the index of a node
+	 * @return the position of the first arc leaving u
+	 */
+	public int arcBegin(int u) {
+		return arcStart[u];
+	}
+
+	/**
+	 * @param u the index of a node
+	 * @return the position after the last arc leaving u
+	 */
+	public int arcEnd(int u) {
+		return arcStart[u + 1];
+	}
+
+	/**
+	 * @param i a position between arcBegin(u) and arcEnd(u)
+	 * @return the arc at that position
+	 */
+	public int arcAt(int i) {
+		return arcs[i];
+	}
+
+	/**
+	 * @param a an arc
+	 * @return the index of the node the arc enters
+	 */
+	public int head(int a) {
+		return head[a];
+	}
+
+	/**
+	 * @param a an arc
+	 * @return the index of the node the arc leaves
+	 */
+	public int tail(int a) {
+		return head[a ^ 1];
+	}
+
+	/**
+	 * @param a an arc
+	 * @return the residual capacity of the arc
+	 */
+	public int residual(int a) {
+		return residual[a];
+	}
+
+	/**
+	 * @param a an arc
+	 * @return true if the arc follows its FlowEdge, false if it cancels its flow
+	 */
+	public boolean isForward(int a) {
+		return (a & 1) == 0;
+	}
+
+	/**
+	 * @param a an arc
+	 * @return the FlowEdge of the arc
+	 */
+	public FlowEdge edgeOf(int a) {
+		return edges[a >> 1];
+	}
+
+	/**
+	 * @param edge a FlowEdge of the network
+	 * @return its forward arc
+	 * @throws NoSuchElementException if the edge is not in the network
+	 */
+	public int forwardArc(FlowEdge edge) {
+		Integer e = edgeIndex.get(edge);
+		if (e == null) {
+			throw new NoSuchElementException("Edge not in the residual network: " + edge);
+		}
+		return 2 * e;
+	}
+
+	/**
+	 * @param e the index of a FlowEdge
+	 * @return the current flow of the edge
+	 */
+	public int flow(int e) {
+		return residual[2 * e + 1];
+	}
+
+	/**
+	 * Pushes flow along an arc, lowering its residual capacity and raising the
+	 * one of its pair.
+	 *
+	 * @param a     an arc
+	 * @param delta the amount of flow, at most residual(a)
+	 */
+	public void push(int a, int delta) {
+		residual[a] -= delta;
+		residual[a ^ 1] += delta;
+	}
+
+	/**
+	 * Changes the capacity of a FlowEdge. If its flow is then above the new
+	 * capacity, the flow is lowered to it, which leaves the tail of the edge
+	 * with an excess and its head with a deficit of the same amount.
+	 *
+	 * @param e     the index of a FlowEdge
+	 * @param delta the change of capacity
+	 * @return the amount of flow removed from the edge
+	 * @throws IllegalArgumentException if the capacity would become negative
+	 */
+	public int changeCapacity(int e, int delta) {
+		int forward = 2 * e;
+		if (residual[forward] + residual[forward + 1] + delta < 0) {
+			throw new IllegalArgumentException("Capacity cannot be negative: " + edges[e]);
+		}
+		residual[forward] += delta;
+		if (residual[forward] >= 0) {
+			return 0;
+		}
+		int overflow = -residual[forward];
+		residual[forward] = 0;
+		residual[forward + 1] -= overflow;
+		return overflow;
+	}
+
+	/**
+	 * Finds an arc between two nodes.
+	 *
+	 * @param u       the index of the tail
+	 * @param v       the index of the head
+	 * @param atLeast the minimum residual capacity of the arc
+	 * @return the arc from u to v with the largest residual capacity, if at
+	 *         least atLeast, or -1
+	 */
+	public int findArc(int u, int v, int atLeast) {
+		int best = -1;
+		for (int i = arcStart[u]; i < arcStart[u + 1]; i++) {
+			int a = arcs[i];
+			if (head[a] == v && residual[a] >= atLeast && (best < 0 || residual[a] > residual[best])) {
+				best = a;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @param path arcs forming a path
+	 * @return the smallest residual capacity along the path
+	 */
+	public int bottleneck(int[] path) {
+		int b = Integer.MAX_VALUE;
+		for (int a : path) {
+			b = Math.min(b, residual[a]);
+		}
+		return b;
+	}
+
+	/**
+	 * Pushes the same flow along every arc of a path, in O(path length).
+	 *
+	 * @param path  arcs forming a path
+	 * @param delta the amount of flow, at most the bottleneck of the path
+	 */
+	public void augment(int[] path, int delta) {
+		for (int a : path) {
+			push(a, delta);
+		}
+	}
+
+	/**
+	 * Pushes the same flow along a path of nodes, using between two consecutive
+	 * nodes the arc with the largest residual capacity.
+	 *
+	 * @param path  the nodes of the path
+	 * @param delta the amount of flow
+	 * @throws IllegalArgumentException if two consecutive nodes have no arc with
+	 *                                  a residual capacity of at least delta
+	 */
+	public void augment(List<Node> path, int delta) {
+		int[] arcPath = new int[Math.max(0, path.size() - 1)];
+		for (int i = 0; i < arcPath.length; i++) {
+			int a = findArc(indexOf(path.get(i)), indexOf(path.get(i + 1)), delta);
+			if (a < 0) {
+				throw new IllegalArgumentException(
+						"No residual capacity " + delta + " from " + path.get(i) + " to " + path.get(i + 1));
+			}
+			arcPath[i] = a;
+		}
+		augment(arcPath, delta);
+	}
+
+	/**
+	 * @return the flow leaving the source minus the flow entering it
+	 */
+	public int flowValue() {
+		if (nodes.length == 0) {
+			return 0;
+		}
+		int total = 0;
+		for (int i = arcStart[source]; i < arcStart[source + 1]; i++) {
+			int a = arcs[i];
+			int flow = residual[a | 1];
+			total += isForward(a) ? flow : -flow;
+		}
+		return total;
+	}
+
+	/**
+	 * Copies the flows of the residual network to the FlowEdges of the flow
+	 * network.
+	 */
+	public void writeBack() {
+		for (int e = 0; e < edges.length; e++) {
+			edges[e].setFlow(residual[2 * e + 1]);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package m1maxflow2025;
+
+/**
+ * Provides static factory methods to create the FordFulkerson.Solver
+ * implementations, to pass to FordFulkerson.maxFlow. They all give a flow of
+ * the same value, the maximum one.
+ */
+public class Solver {
+	/**
+	 * Returns a FordFulkerson.Solver augmenting along the paths found by a
+	 * PathFinder, like FordFulkerson.maxFlow with that PathFinder.
+	 *
+	 * @param pathFinder The strategy used to find augmenting paths
+	 * @return A Solver using the Ford-Fulkerson method.
+	 */
+	public static FordFulkerson.Solver fordFulkerson(FordFulkerson.PathFinder pathFinder) {
+		return network -> FordFulkerson.maxFlow(network, pathFinder);
+	}
+
+	/**
+	 * Returns a FordFulkerson.Solver using Dinic's blocking flows.
+	 *
+	 * @return A Solver using Dinic's algorithm.
+	 */
+	public static FordFulkerson.Solver dinic() {
+		return Dinic::maxFlow;
+	}
+
+	/**
+	 * Returns a FordFulkerson.Solver augmenting along shortest paths of
+	 * decreasing residual capacity, for networks with very different
+	 * capacities.
+	 *
+	 * @return A Solver using capacity scaling.
+	 */
+	public static FordFulkerson.Solver capacityScaling() {
+		return CapacityScaling::maxFlow;
+	}
+
+	/**
+	 * Returns a FordFulkerson.Solver using the highest-label push-relabel
+	 * algorithm, the fastest on dense networks.
+	 *
+	 * @return A Solver using push-relabel.
+	 */
+	public static FordFulkerson.Solver pushRelabel() {
+		return PushRelabel::maxFlow;
+	}
+
+	/**
+	 * Returns a FordFulkerson.Solver using a parallel push-relabel algorithm in
+	 * the common pool, for very large networks.
+	 *
+	 * @return A Solver using parallel push-relabel.
+	 */
+	public static FordFulkerson.Solver parallelPushRelabel() {
+		return new ParallelPushRelabel();
+	}
+}
@@ -529,4 +529,171 @@ public class GraphTest {
 		var list4 = graph.getBFS(1);
 		sameArray(res4, list4);
 	}
+
+	@Test
+	public void testTopologicalOrder() {
+		int[] test1 = { 2, 3, 0, 4, 0, 4, 5, 0, 0, 0 };
+		graph = new Graph(test1);
+		List<List<Node>> levels = graph.topologicalLevels();
+		assertEquals(3, levels.size());
+		sameArray(new int[] { 1 }, levels.get(0));
+		sameArray(new int[] { 2, 3 }, levels.get(1));
+		sameArray(new int[] { 4, 5 }, levels.get(2));
+		sameArray(new int[] { 1, 2, 3, 4, 5 }, graph.topologicalOrder());
+
+		int[] test2 = { 2, 0, 3, 0, 1, 0 };
+		graph = new Graph(test2);
+		assertNull(graph.topologicalLevels());
+		assertNull(graph.topologicalOrder());
+		assertEquals(0, emptyGraph.topologicalOrder().size());
+	}
+
+	@Test
+	public void testFindCycle() {
+		int[] test1 = { 2, 3, 0, 4, 0, 4, 5, 0, 0, 0 };
+		graph = new Graph(test1);
+		assertNull(graph.findCycle());
+
+		int[] test2 = { 2, 0, 3, 0, 4, 0, 2, 0 };
+		graph = new Graph(test2);
+		List<Node> cycle = graph.findCycle();
+		assertEquals(3, cycle.size());
+		for (int i = 0; i < cycle.size(); i++) {
+			assertTrue(graph.existsEdge(cycle.get(i), cycle.get((i + 1) % cycle.size())));
+		}
+
+		int[] test3 = { 1, 0 };
+		graph = new Graph(test3);
+		sameArray(new int[] { 1 }, graph.findCycle());
+
+		// Every undirected edge would be a cycle of 2 nodes
+		UndirectedGraph undirected = new UndirectedGraph(2, 0, 0);
+		assertThrows(IllegalArgumentException.class, () -> undirected.findCycle());
+		assertThrows(IllegalArgumentException.class, () -> undirected.topologicalOrder());
+		assertThrows(IllegalArgumentException.class, () -> undirected.topologicalLevels());
+	}
+
+	@Test
+	public void testShortestPath() {
+		graph = new Graph();
+		graph.addEdge(1, 2, 7);
+		graph.addEdge(1, 3, 2);
+		graph.addEdge(3, 2, 3);
+		graph.addEdge(2, 4, 1);
+		graph.addNode(5);
+
+		sameArray(new int[] { 1, 3, 2, 4 }, graph.shortestPath(graph.getNode(1), graph.getNode(4)));
+		assertNull(graph.shortestPath(graph.getNode(1), graph.getNode(5)));
+
+		var distances = graph.shortestDistances(graph.getNode(1));
+		assertEquals(4, distances.size());
+		assertEquals(5L, (long) distances.get(graph.getNode(2)));
+		assertFalse(distances.containsKey(graph.getNode(5)));
+		expectException(() -> graph.shortestDistances(new Graph(9, 0).getNode(9)));
+	}
+
+	@Test
+	public void testPageRank() {
+		// A directed cycle has a uniform rank
+		graph = new Graph(2, 0, 3, 0, 4, 0, 1, 0);
+		for (double rank : graph.pageRank().values()) {
+			assertEquals(0.25, rank, 1e-9);
+		}
+
+		// Node 3 is dangling and node 4 has no incoming edge
+		graph = new Graph(2, 3, 0, 3, 0, 0, 1, 3, 0);
+		FrozenGraph g = graph.freeze();
+		PageRank engine = new PageRank(g, 0.85, 1e-12, 1000);
+		double[] rank = engine.compute();
+		assertEquals(1.0, Arrays.stream(rank).sum(), 1e-9);
+		assertEquals(0.15 / 4 + 0.85 * rank[2] / 4, rank[3], 1e-9);
+		assertTrue(rank[2] > rank[0]);
+		assertTrue(engine.iterations() < 1000);
+
+		// Restarting from node 4 only
+		double[] personalized = engine.personalized(3);
+		assertEquals(1.0, Arrays.stream(personalized).sum(), 1e-9);
+		assertArrayEquals(personalized, engine.personalized(new double[] { 0, 0, 0, 5 }), 1e-12);
+		assertTrue(personalized[3] > rank[3]);
+
+		expectException(() -> new PageRank(g, 1, 1e-9, 10));
+		expectException(() -> engine.personalized(new double[] { 0, 0, 0, 0 }));
+		expectException(() -> engine.personalized(new double[] { 1, -1, 0, 1 }));
+	}
+
+	/**
+	 * Reference betweenness summing the pair dependencies one by one
+	 */
+	private static double[] naiveBetweenness(FrozenGraph g) {
+		int n = g.nbNodes();
+		int[][] dist = new int[n][n];
+		double[][] sigma = new double[n][n];
+		for (int s = 0; s < n; s++) {
+			Arrays.fill(dist[s], -1);
+			dist[s][s] = 0;
+			sigma[s][s] = 1;
+			java.util.ArrayDeque<Integer> queue = new java.util.ArrayDeque<>(List.of(s));
+			while (!queue.isEmpty()) {
+				int v = queue.poll();
+				for (int a = g.outBegin(v); a < g.outEnd(v); a++) {
+					int w = g.target(a);
+					if (dist[s][w] < 0) {
+						dist[s][w] = dist[s][v] + 1;
+						queue.add(w);
+					}
+					if (dist[s][w] == dist[s][v] + 1) {
+						sigma[s][w] += sigma[s][v];
+					}
+				}
+			}
+		}
+		double[] centrality = new double[n];
+		for (int s = 0; s < n; s++) {
+			for (int t = 0; t < n; t++) {
+				for (int v = 0; v < n; v++) {
+					if (s != t && v != s && v != t && dist[s][t] > 0 && dist[s][v] > 0 && dist[v][t] > 0
+							&& dist[s][v] + dist[v][t] == dist[s][t]) {
+						centrality[v] += sigma[s][v] * sigma[v][t] / sigma[s][t];
+					}
+				}
+			}
+		}
+		return centrality;
+	}
+
+	@Test
+	public void testBetweenness() {
+		// Path 1 - 2 - 3 and a node 4 after 2
+		graph = new Graph(2, 0, 3, 4, 0, 0, 0);
+		var centrality = graph.betweenness(false);
+		assertEquals(2.0, centrality.get(graph.getNode(2)), 1e-12);
+		assertEquals(0.0, centrality.get(graph.getNode(1)), 1e-12);
+
+		UndirectedGraph path = new UndirectedGraph(2, 0, 3, 0, 0);
+		assertEquals(1.0, path.betweenness(true).get(path.getNode(2)), 1e-12);
+
+		for (long seed = 0; seed < 5; seed++) {
+			FrozenGraph g = ShortestPathsTest.randomGraph(seed, 60, 200, 0).freeze();
+			double[] exact = Betweenness.compute(g, false);
+			assertArrayEquals(naiveBetweenness(g), exact, 1e-9);
+			assertArrayEquals(exact, Betweenness.sample(g, false, 60, seed), 1e-9);
+			double[] sampled = Betweenness.sample(g, false, 30, seed);
+			assertEquals(Arrays.stream(exact).sum(), Arrays.stream(sampled).sum(), Arrays.stream(exact).sum());
+		}
+
+		// With the same weight everywhere, weighted and unweighted agree
+		FrozenGraph g = ShortestPathsTest.randomGraph(7, 60, 200, 0).freeze();
+		Graph doubled = new Graph();
+		for (int v = 0; v < g.nbNodes(); v++) {
+			doubled.addNode(g.id(v));
+		}
+		for (int e = 0; e < g.nbEdges(); e++) {
+			doubled.addEdge(doubled.getNode(g.id(g.edgeFrom(e))), doubled.getNode(g.id(g.edgeTo(e))), 2);
+		}
+		assertArrayEquals(Betweenness.compute(g, false), Betweenness.compute(doubled.freeze(), true), 1e-9);
+
+		FrozenGraph weighted = ShortestPathsTest.randomGraph(1, 30, 90, 3).freeze();
+		expectException(() -> Betweenness.compute(weighted, true));
+		expectException(() -> Betweenness.sample(weighted, false, 0, 1));
+	}
 }
@@ -0,0 +1,453 @@
+package m1graphs2025;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class ShortestPathsTest {
+	private Graph graph;
+	private FrozenGraph frozen;
+
+	private void expectException(Runnable r) {
+		try {
+			r.run();
+			assertTrue(false);
+		} catch (Exception e) {
+			assertTrue(true);
+		}
+	}
+
+	/**
+	 * Builds a random weighted graph with nodes 1..n
+	 */
+	static Graph randomGraph(long seed, int n, int m, int maxWeight) {
+		Random random = new Random(seed);
+		Graph g = new Graph();
+		for (int i = 1; i <= n; i++) {
+			g.addNode(i);
+		}
+		for (int i = 0; i < m; i++) {
+			g.addEdge(g.getNode(random.nextInt(n) + 1), g.getNode(random.nextInt(n) + 1),
+					random.nextInt(maxWeight + 1));
+		}
+		return g;
+	}
+
+	/**
+	 * Reference distances computed with Bellman-Ford
+	 */
+	static long[] bellmanFord(FrozenGraph g, int source) {
+		long[] dist = new long[g.nbNodes()];
+		Arrays.fill(dist, ShortestPaths.INFINITY);
+		dist[source] = 0;
+		for (int i = 0; i < g.nbNodes(); i++) {
+			for (int u = 0; u < g.nbNodes(); u++) {
+				if (dist[u] == ShortestPaths.INFINITY) {
+					continue;
+				}
+				for (int a = g.outBegin(u); a < g.outEnd(u); a++) {
+					dist[g.target(a)] = Math.min(dist[g.target(a)], dist[u] + g.outWeight(a));
+				}
+			}
+		}
+		return dist;
+	}
+
+	@Before
+	public void setUp() {
+		graph = new Graph();
+		for (int i = 1; i <= 5; i++) {
+			graph.addNode(i);
+		}
+		graph.addEdge(graph.getNode(1), graph.getNode(2), 7);
+		graph.addEdge(graph.getNode(1), graph.getNode(3), 2);
+		graph.addEdge(graph.getNode(3), graph.getNode(2), 3);
+		graph.addEdge(graph.getNode(2), graph.getNode(4), 1);
+		frozen = graph.freeze();
+	}
+
+	@Test
+	public void testHeap() {
+		IndexedDaryHeap heap = new IndexedDaryHeap(10, 3);
+		assertTrue(heap.isEmpty());
+		assertTrue(heap.offer(4, 40));
+		assertTrue(heap.offer(2, 20));
+		assertTrue(heap.offer(7, 70));
+		assertFalse(heap.offer(2, 25));
+		assertTrue(heap.offer(7, 10));
+		assertEquals(3, heap.size());
+		assertEquals(10, heap.peekKey());
+		assertEquals(7, heap.poll());
+		assertEquals(2, heap.poll());
+		assertFalse(heap.contains(2));
+		assertTrue(heap.contains(4));
+		heap.clear();
+		assertTrue(heap.isEmpty());
+		assertFalse(heap.contains(4));
+		expectException(() -> heap.poll());
+		expectException(() -> new IndexedDaryHeap(10, 1));
+	}
+
+	@Test
+	public void testDistances() {
+		ShortestPaths engine = new ShortestPaths(frozen);
+		engine.run(frozen.indexOf(1));
+		assertEquals(0, engine.distance(frozen.indexOf(1)));
+		assertEquals(5, engine.distance(frozen.indexOf(2)));
+		assertEquals(2, engine.distance(frozen.indexOf(3)));
+		assertEquals(6, engine.distance(frozen.indexOf(4)));
+		assertFalse(engine.isReachable(frozen.indexOf(5)));
+
+		int[] path = engine.path(frozen.indexOf(4));
+		assertEquals(4, path.length);
+		assertEquals(Arrays.asList(1, 3, 2, 4), frozen.toNodes(path).stream().map(Node::getId).toList());
+		assertEquals(3, engine.edgePath(frozen.indexOf(4)).length);
+		assertNull(engine.path(frozen.indexOf(5)));
+
+		// Buffers are reset between queries
+		assertTrue(engine.run(frozen.indexOf(2), frozen.indexOf(4)));
+		assertEquals(1, engine.distance(frozen.indexOf(4)));
+		assertFalse(engine.isReachable(frozen.indexOf(1)));
+		assertFalse(engine.run(frozen.indexOf(4), frozen.indexOf(1)));
+	}
+
+	@Test
+	public void testNegativeWeight() {
+		graph.addEdge(graph.getNode(4), graph.getNode(5), -1);
+		expectException(() -> new ShortestPaths(graph.freeze()));
+	}
+
+	@Test
+	public void testRandomGraphs() {
+		for (long seed = 0; seed < 10; seed++) {
+			FrozenGraph g = randomGraph(seed, 40, 150, 20).freeze();
+			ShortestPaths engine = new ShortestPaths(g, 2 + (int) seed % 3);
+			for (int s = 0; s < g.nbNodes(); s += 7) {
+				engine.run(s);
+				assertArrayEquals(bellmanFord(g, s), engine.distances());
+			}
+		}
+	}
+
+	@Test
+	public void testDeltaStepping() {
+		for (long seed = 0; seed < 10; seed++) {
+			FrozenGraph g = randomGraph(seed, 40, 150, 20).freeze();
+			ShortestPaths engine = new ShortestPaths(g);
+			for (int s = 0; s < g.nbNodes(); s += 7) {
+				engine.run(s);
+				assertArrayEquals(engine.distances(), DeltaStepping.distances(g, s, 1 + (int) seed * 3));
+			}
+		}
+
+		// Large enough to relax the frontiers in parallel
+		FrozenGraph g = randomGraph(42, 3000, 30000, 100).freeze();
+		ShortestPaths engine = new ShortestPaths(g);
+		engine.run(0);
+		assertArrayEquals(engine.distances(), DeltaStepping.distances(g, 0, 1));
+		assertArrayEquals(engine.distances(), DeltaStepping.distances(g, 0, 50));
+
+		expectException(() -> DeltaStepping.distances(frozen, 0, 0));
+		assertEquals(graph.shortestDistances(graph.getNode(1)), graph.shortestDistances(graph.getNode(1), 2));
+	}
+
+	private long pathWeight(FrozenGraph g, int[] path) {
+		long total = 0;
+		for (int i = 0; i + 1 < path.length; i++) {
+			long best = ShortestPaths.INFINITY;
+			for (int a = g.outBegin(path[i]); a < g.outEnd(path[i]); a++) {
+				if (g.target(a) == path[i + 1]) {
+					best = Math.min(best, g.outWeight(a));
+				}
+			}
+			assertTrue(best != ShortestPaths.INFINITY);
+			total += best;
+		}
+		return total;
+	}
+
+	@Test
+	public void testBidirectionalSearch() {
+		BidirectionalSearch search = new BidirectionalSearch(frozen);
+		assertEquals(Arrays.asList(1, 2, 4),
+				frozen.toNodes(search.bfs(0, 3)).stream().map(Node::getId).toList());
+		assertEquals(Arrays.asList(1, 3, 2, 4),
+				frozen.toNodes(search.dijkstra(0, 3)).stream().map(Node::getId).toList());
+		assertNull(search.bfs(0, 4));
+		assertNull(search.dijkstra(3, 0));
+		assertArrayEquals(new int[] { 2 }, search.dijkstra(2, 2));
+
+		for (long seed = 0; seed < 10; seed++) {
+			FrozenGraph g = randomGraph(seed, 60, 150, 20).freeze();
+			ShortestPaths engine = new ShortestPaths(g);
+			BidirectionalSearch bidir = new BidirectionalSearch(g);
+			for (int s = 0; s < g.nbNodes(); s += 5) {
+				engine.run(s);
+				for (int t = 0; t < g.nbNodes(); t += 3) {
+					int[] path = bidir.dijkstra(s, t);
+					int[] hops = bidir.bfs(s, t);
+					if (!engine.isReachable(t)) {
+						assertNull(path);
+						assertNull(hops);
+						continue;
+					}
+					assertEquals(s, path[0]);
+					assertEquals(t, path[path.length - 1]);
+					assertEquals(engine.distance(t), pathWeight(g, path));
+					assertEquals(s, hops[0]);
+					assertEquals(t, hops[hops.length - 1]);
+					pathWeight(g, hops);
+				}
+			}
+
+			// Without weights the BFS path must be a shortest one
+			Graph unweighted = new Graph();
+			for (int i = 0; i < g.nbEdges(); i++) {
+				unweighted.addEdge(g.edge(i).from().getId(), g.edge(i).to().getId());
+			}
+			FrozenGraph u = unweighted.freeze();
+			engine = new ShortestPaths(u);
+			bidir = new BidirectionalSearch(u);
+			for (int s = 0; s < u.nbNodes(); s += 5) {
+				engine.run(s);
+				for (int t = 0; t < u.nbNodes(); t++) {
+					int[] hops = bidir.bfs(s, t);
+					assertEquals(engine.isReachable(t), hops != null);
+					if (hops != null) {
+						assertEquals(engine.distance(t), hops.length - 1);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testBidirectionalBFSLength() {
+		// Chain 1 -> 2 -> ... -> 10 with a shortcut 3 -> 8
+		Graph chain = new Graph(2, 0, 3, 0, 4, 8, 0, 5, 0, 6, 0, 7, 0, 8, 0, 9, 0, 10, 0);
+		List<Node> path = chain.bidirectionalPath(chain.getNode(1), chain.getNode(10));
+		assertEquals(Arrays.asList(1, 2, 3, 8, 9, 10), path.stream().map(Node::getId).toList());
+		assertEquals(path, chain.bidirectionalShortestPath(chain.getNode(1), chain.getNode(10)));
+		assertNull(chain.bidirectionalPath(chain.getNode(10), chain.getNode(1)));
+	}
+
+	@Test
+	public void testAltSearch() {
+		for (long seed = 0; seed < 10; seed++) {
+			FrozenGraph g = randomGraph(seed, 60, 200, 20).freeze();
+			Landmarks landmarks = Landmarks.select(g, 4);
+			assertEquals(4, landmarks.size());
+			ShortestPaths engine = new ShortestPaths(g);
+			AltSearch alt = new AltSearch(landmarks);
+			for (int s = 0; s < g.nbNodes(); s += 5) {
+				engine.run(s);
+				for (int t = 0; t < g.nbNodes(); t += 2) {
+					assertTrue(engine.distance(t) >= landmarks.lowerBound(s, t));
+					int[] path = alt.path(s, t);
+					if (!engine.isReachable(t)) {
+						assertNull(path);
+						continue;
+					}
+					assertEquals(engine.distance(t), alt.lastDistance());
+					assertEquals(engine.distance(t), pathWeight(g, path));
+				}
+			}
+		}
+		expectException(() -> Landmarks.select(frozen, 0));
+	}
+
+	@Test
+	public void testLandmarksFile() throws IOException {
+		FrozenGraph g = randomGraph(3, 50, 200, 20).freeze();
+		Landmarks landmarks = Landmarks.select(g, 3);
+		File file = File.createTempFile("landmarks", ".alt");
+		file.deleteOnExit();
+		landmarks.toFile(file.getPath());
+
+		Landmarks loaded = Landmarks.fromFile(file.getPath(), g);
+		assertEquals(landmarks.size(), loaded.size());
+		for (int i = 0; i < landmarks.size(); i++) {
+			assertEquals(landmarks.landmark(i), loaded.landmark(i));
+		}
+		for (int v = 0; v < g.nbNodes(); v++) {
+			assertEquals(landmarks.lowerBound(v, 7), loaded.lowerBound(v, 7));
+		}
+
+		// Another graph must not accept the file
+		assertNull(Landmarks.fromFile(file.getPath(), frozen));
+		assertNull(Landmarks.fromFile(file.getPath() + ".missing", g));
+
+		// Same nodes and edge ends, other weights
+		FrozenGraph reweighted = randomGraph(3, 50, 200, 40).freeze();
+		assertEquals(g.nbEdges(), reweighted.nbEdges());
+		assertNull(Landmarks.fromFile(file.getPath(), reweighted));
+
+		// Corrupt landmark count, then corrupt landmark index
+		int countOffset = 4 + 4 + 4 + 8 + 4 * g.nbNodes();
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.seek(countOffset);
+			raf.writeInt(-1);
+		}
+		assertNull(Landmarks.fromFile(file.getPath(), g));
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.seek(countOffset);
+			raf.writeInt(landmarks.size());
+			raf.writeInt(g.nbNodes());
+		}
+		assertNull(Landmarks.fromFile(file.getPath(), g));
+	}
+
+	private void checkEdgePath(FrozenGraph g, int s, int t, long distance, List<Edge> path) {
+		long total = 0;
+		int at = s;
+		for (Edge e : path) {
+			int from = g.indexOf(e.from());
+			int to = g.indexOf(e.to());
+			if (!g.isDirected() && from != at) {
+				int tmp = from;
+				from = to;
+				to = tmp;
+			}
+			assertEquals(at, from);
+			total += e.isWeighted() ? e.getWeight() : 1;
+			at = to;
+		}
+		assertEquals(t, at);
+		assertEquals(distance, total);
+	}
+
+	@Test
+	public void testContractionHierarchy() {
+		for (long seed = 0; seed < 10; seed++) {
+			FrozenGraph g = randomGraph(seed, 80, 250, 20).freeze();
+			ContractionHierarchy ch = ContractionHierarchy.build(g);
+			ContractionHierarchy.Query query = ch.newQuery();
+			ShortestPaths engine = new ShortestPaths(g);
+			for (int s = 0; s < g.nbNodes(); s += 7) {
+				engine.run(s);
+				for (int t = 0; t < g.nbNodes(); t++) {
+					List<Edge> path = query.path(s, t);
+					if (!engine.isReachable(t)) {
+						assertNull(path);
+						continue;
+					}
+					assertEquals(engine.distance(t), query.lastDistance());
+					checkEdgePath(g, s, t, engine.distance(t), path);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testContractionHierarchyGrid() {
+		// Undirected 30x30 grid
+		int side = 30;
+		Random random = new Random(7);
+		UndirectedGraph grid = new UndirectedGraph();
+		for (int i = 1; i <= side * side; i++) {
+			grid.addNode(i);
+		}
+		for (int r = 0; r < side; r++) {
+			for (int c = 0; c < side; c++) {
+				int id = r * side + c + 1;
+				if (c + 1 < side) {
+					grid.addEdge(id, id + 1, 1 + random.nextInt(9));
+				}
+				if (r + 1 < side) {
+					grid.addEdge(id, id + side, 1 + random.nextInt(9));
+				}
+			}
+		}
+		FrozenGraph g = grid.freeze();
+		ContractionHierarchy ch = grid.contractionHierarchy();
+		ContractionHierarchy.Query query = ch.newQuery();
+		ShortestPaths engine = new ShortestPaths(g);
+		for (int s = 0; s < g.nbNodes(); s += 97) {
+			engine.run(s);
+			for (int t = 0; t < g.nbNodes(); t += 13) {
+				checkEdgePath(g, s, t, engine.distance(t), query.path(s, t));
+				assertTrue(query.settledNodes() < g.nbNodes() / 2);
+			}
+		}
+	}
+
+	@Test
+	public void testAllPairsShortestPaths() {
+		// Sizes around the tile side, with sparse and dense graphs
+		int[][] shapes = { { 30, 100 }, { 70, 4000 }, { 150, 600 }, { 130, 9000 } };
+		for (int[] shape : shapes) {
+			FrozenGraph g = randomGraph(shape[0], shape[0], shape[1], 20).freeze();
+			int n = g.nbNodes();
+			DistanceMatrix fw = AllPairsShortestPaths.floydWarshall(g, true);
+			DistanceMatrix dj = AllPairsShortestPaths.dijkstra(g, true);
+			DistanceMatrix auto = AllPairsShortestPaths.compute(g, false);
+			assertArrayEquals(fw.distances(), dj.distances());
+			assertArrayEquals(fw.distances(), auto.distances());
+			assertFalse(auto.hasPredecessors());
+			ShortestPaths engine = new ShortestPaths(g);
+			for (int s = 0; s < n; s++) {
+				engine.run(s);
+				for (int t = 0; t < n; t++) {
+					long d = engine.distance(t);
+					if (d == ShortestPaths.INFINITY) {
+						assertEquals(DistanceMatrix.INFINITY, fw.distance(s, t));
+						assertNull(fw.path(s, t));
+					} else {
+						assertEquals(d, fw.distance(s, t));
+						for (int[] path : new int[][] { fw.path(s, t), dj.path(s, t) }) {
+							assertEquals(s, path[0]);
+							assertEquals(t, path[path.length - 1]);
+							assertEquals(d, pathWeight(g, path));
+						}
+					}
+				}
+			}
+		}
+
+		DistanceMatrix m = graph.allPairsShortestPaths();
+		assertEquals(0, m.distance(0, 0));
+		expectException(() -> AllPairsShortestPaths.compute(randomGraph(1, 5, 5, 5).freeze(), false).path(0, 1));
+	}
+
+	@Test
+	public void testAllPairsShortestPathsOverflow() {
+		// 1 -> 2 -> 4 overflows, but 1 -> 3 -> 4 is short
+		Graph g = new Graph();
+		for (int i = 1; i <= 4; i++) {
+			g.addNode(i);
+		}
+		g.addEdge(1, 2, 1_500_000_000);
+		g.addEdge(2, 4, 1_500_000_000);
+		g.addEdge(1, 3, 1);
+		g.addEdge(3, 4, 1);
+		FrozenGraph detour = g.freeze();
+		DistanceMatrix fw = AllPairsShortestPaths.floydWarshall(detour, true);
+		assertArrayEquals(AllPairsShortestPaths.dijkstra(detour, false).distances(), fw.distances());
+		assertEquals(2, fw.distance(0, 3));
+		assertEquals(1_500_000_000, fw.distance(0, 1));
+
+		// Without the short path, the distance 1 -> 4 does not fit
+		g.removeEdge(3, 4);
+		FrozenGraph tooLong = g.freeze();
+		try {
+			AllPairsShortestPaths.floydWarshall(tooLong, false);
+			fail();
+		} catch (ArithmeticException e) {
+			// expected
+		}
+		try {
+			AllPairsShortestPaths.dijkstra(tooLong, false);
+			fail();
+		} catch (ArithmeticException e) {
+			// expected
+		}
+	}
+}
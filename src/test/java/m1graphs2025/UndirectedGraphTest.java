@@ -0,0 +1,509 @@
+package m1graphs2025;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.Before;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class UndirectedGraphTest {
+	private UndirectedGraph graph;
+
+	@Before
+	public void setUp() {
+		// Two triangles, a single edge and an isolated node
+		graph = new UndirectedGraph();
+		for (int i = 1; i <= 9; i++) {
+			graph.addNode(i);
+		}
+		graph.addEdge(1, 2);
+		graph.addEdge(2, 3);
+		graph.addEdge(3, 1);
+		graph.addEdge(4, 5);
+		graph.addEdge(5, 6);
+		graph.addEdge(6, 4);
+		graph.addEdge(7, 8);
+	}
+
+	static UndirectedGraph randomGraph(long seed, int n, int m) {
+		Random random = new Random(seed);
+		UndirectedGraph g = new UndirectedGraph();
+		for (int i = 1; i <= n; i++) {
+			g.addNode(i);
+		}
+		for (int i = 0; i < m; i++) {
+			g.addEdge(random.nextInt(n) + 1, random.nextInt(n) + 1);
+		}
+		return g;
+	}
+
+	/**
+	 * Reference components numbered with a BFS from every node in index order
+	 */
+	private static int[] bfsComponents(FrozenGraph g) {
+		int[] component = new int[g.nbNodes()];
+		Arrays.fill(component, -1);
+		int count = 0;
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		for (int s = 0; s < g.nbNodes(); s++) {
+			if (component[s] >= 0) {
+				continue;
+			}
+			component[s] = count;
+			queue.add(s);
+			while (!queue.isEmpty()) {
+				int u = queue.poll();
+				for (int a = g.outBegin(u); a < g.outEnd(u); a++) {
+					if (component[g.target(a)] < 0) {
+						component[g.target(a)] = count;
+						queue.add(g.target(a));
+					}
+				}
+				for (int a = g.inBegin(u); a < g.inEnd(u); a++) {
+					if (component[g.source(a)] < 0) {
+						component[g.source(a)] = count;
+						queue.add(g.source(a));
+					}
+				}
+			}
+			count++;
+		}
+		return component;
+	}
+
+	@Test
+	public void testConnectedComponents() {
+		Components c = graph.connectedComponents();
+		assertEquals(4, c.count());
+		assertArrayEquals(new int[] { 0, 0, 0, 1, 1, 1, 2, 2, 3 }, c.components());
+		assertArrayEquals(new int[] { 3, 3, 2, 1 }, c.sizes());
+		assertTrue(c.connected(0, 2));
+		assertFalse(c.connected(2, 3));
+		List<List<Node>> lists = c.toNodeLists();
+		assertEquals(graph.getNode(7), lists.get(2).get(0));
+		assertEquals(graph.getNode(9), lists.get(3).get(0));
+
+		assertEquals(0, new UndirectedGraph().connectedComponents().count());
+	}
+
+	@Test
+	public void testRandomComponents() {
+		for (long seed = 0; seed < 5; seed++) {
+			FrozenGraph g = randomGraph(seed, 3000, 2500).freeze();
+			assertArrayEquals(bfsComponents(g), Components.of(g).components());
+		}
+		FrozenGraph directed = ShortestPathsTest.randomGraph(3, 2000, 1500, 5).freeze();
+		assertArrayEquals(bfsComponents(directed), Components.of(directed).components());
+	}
+
+	@Test
+	public void testConcurrentUnionFind() {
+		ConcurrentUnionFind sets = new ConcurrentUnionFind(6);
+		assertTrue(sets.union(4, 5));
+		assertTrue(sets.union(5, 2));
+		assertFalse(sets.union(4, 2));
+		assertEquals(2, sets.find(5));
+		assertTrue(sets.sameSet(2, 4));
+		assertFalse(sets.sameSet(0, 4));
+	}
+
+	@Test
+	public void testTriangles() {
+		graph.addEdge(1, 2);
+		graph.addEdge(1, 1);
+		graph.addEdge(3, 4);
+		Triangles t = graph.triangles();
+		assertEquals(2, t.count());
+		assertEquals(1, t.triangles(0));
+		assertEquals(1.0, t.clustering(0), 1e-12);
+		assertEquals(1.0 / 3, t.clustering(2), 1e-12);
+		assertEquals(0.0, t.clustering(6), 1e-12);
+		assertEquals(0.0, t.clustering(8), 1e-12);
+
+		for (long seed = 0; seed < 5; seed++) {
+			UndirectedGraph g = randomGraph(seed, 50, 400);
+			FrozenGraph frozen = g.freeze();
+			int n = frozen.nbNodes();
+			boolean[][] adjacent = new boolean[n][n];
+			for (int e = 0; e < frozen.nbEdges(); e++) {
+				adjacent[frozen.edgeFrom(e)][frozen.edgeTo(e)] = true;
+				adjacent[frozen.edgeTo(e)][frozen.edgeFrom(e)] = true;
+			}
+			long count = 0;
+			long[] perNode = new long[n];
+			for (int u = 0; u < n; u++) {
+				for (int v = u + 1; v < n; v++) {
+					for (int w = v + 1; w < n; w++) {
+						if (adjacent[u][v] && adjacent[v][w] && adjacent[u][w]) {
+							count++;
+							perNode[u]++;
+							perNode[v]++;
+							perNode[w]++;
+						}
+					}
+				}
+			}
+			t = g.triangles();
+			assertEquals(count, t.count());
+			for (int v = 0; v < n; v++) {
+				assertEquals(perNode[v], t.triangles(v));
+			}
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> Triangles.of(new Graph(2, 0, 0).freeze()));
+	}
+
+	@Test
+	public void testSpanningForest() {
+		UndirectedGraph g = new UndirectedGraph();
+		for (int i = 1; i <= 6; i++) {
+			g.addNode(i);
+		}
+		g.addEdge(1, 2, 4);
+		g.addEdge(1, 2, 1);
+		g.addEdge(2, 3, 2);
+		g.addEdge(1, 3, 2);
+		g.addEdge(3, 3, -5);
+		g.addEdge(4, 5, -3);
+		SpanningForest forest = g.minimumSpanningForest();
+		assertEquals(3, forest.size());
+		assertEquals(0, forest.weight());
+		UndirectedGraph tree = forest.toGraph();
+		assertEquals(6, tree.nbNodes());
+		assertEquals(3, tree.nbEdges());
+		assertTrue(tree.existsEdge(1, 2));
+		assertTrue(tree.existsEdge(4, 5));
+		assertFalse(tree.existsEdge(3, 3));
+		assertArrayEquals(forest.edges(), SpanningForest.boruvka(g.freeze()).edges());
+
+		for (long seed = 0; seed < 5; seed++) {
+			Random random = new Random(seed);
+			UndirectedGraph r = new UndirectedGraph();
+			for (int i = 1; i <= 2000; i++) {
+				r.addNode(i);
+			}
+			for (int i = 0; i < 3000; i++) {
+				r.addEdge(random.nextInt(2000) + 1, random.nextInt(2000) + 1, random.nextInt(20));
+			}
+			FrozenGraph frozen = r.freeze();
+			SpanningForest kruskal = SpanningForest.kruskal(frozen);
+			SpanningForest boruvka = SpanningForest.boruvka(frozen);
+			assertArrayEquals(kruskal.edges(), boruvka.edges());
+			assertEquals(kruskal.weight(), boruvka.weight());
+			assertEquals(frozen.nbNodes() - Components.of(frozen).count(), kruskal.size());
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> SpanningForest.kruskal(new Graph(2, 0, 0).freeze()));
+	}
+
+	/**
+	 * Checks that the matching is valid and has the size of a vertex cover,
+	 * which proves both of them optimal
+	 */
+	private static void checkMatching(BipartiteMatching matching) {
+		FrozenGraph g = matching.getGraph();
+		boolean[] used = new boolean[g.nbNodes()];
+		int[] edges = matching.edges();
+		assertEquals(matching.size(), edges.length);
+		for (int e : edges) {
+			int u = g.edgeFrom(e);
+			int v = g.edgeTo(e);
+			assertFalse(used[u] || used[v]);
+			used[u] = true;
+			used[v] = true;
+			assertEquals(v, matching.mate(u));
+			assertEquals(u, matching.mate(v));
+		}
+		int[] cover = matching.vertexCover();
+		assertEquals(matching.size(), cover.length);
+		boolean[] inCover = new boolean[g.nbNodes()];
+		for (int v : cover) {
+			inCover[v] = true;
+		}
+		for (int e = 0; e < g.nbEdges(); e++) {
+			assertTrue(inCover[g.edgeFrom(e)] || inCover[g.edgeTo(e)]);
+		}
+	}
+
+	@Test
+	public void testBipartiteMatching() {
+		// Left 1..3, right 4..6: 1 and 2 only like 4
+		UndirectedGraph g = new UndirectedGraph();
+		for (int i = 1; i <= 6; i++) {
+			g.addNode(i);
+		}
+		g.addEdge(1, 4);
+		g.addEdge(2, 4);
+		g.addEdge(3, 4);
+		g.addEdge(3, 5);
+		g.addEdge(3, 5);
+		BipartiteMatching matching = g.maximumMatching();
+		assertEquals(2, matching.size());
+		assertEquals(4, matching.mate(2));
+		assertEquals(-1, matching.mate(5));
+		assertArrayEquals(new int[] { 2, 3 }, matching.vertexCover());
+		checkMatching(matching);
+
+		for (long seed = 0; seed < 5; seed++) {
+			Random random = new Random(seed);
+			Graph directed = new Graph();
+			boolean[] left = new boolean[600];
+			for (int i = 1; i <= 600; i++) {
+				directed.addNode(i);
+				left[i - 1] = i <= 300;
+			}
+			for (int i = 0; i < 900; i++) {
+				int l = random.nextInt(300) + 1;
+				int r = random.nextInt(300) + 301;
+				if (random.nextBoolean()) {
+					directed.addEdge(l, r);
+				} else {
+					directed.addEdge(r, l);
+				}
+			}
+			FrozenGraph frozen = directed.freeze();
+			checkMatching(BipartiteMatching.of(frozen));
+			BipartiteMatching sided = BipartiteMatching.of(frozen, left);
+			checkMatching(sided);
+			assertEquals(BipartiteMatching.of(frozen).size(), sided.size());
+		}
+
+		// The triangles of graph are odd cycles
+		assertThrows(IllegalArgumentException.class, () -> graph.maximumMatching());
+		assertThrows(IllegalArgumentException.class,
+				() -> BipartiteMatching.of(g.freeze(), new boolean[] { true, true, true, true, false, false }));
+	}
+
+	/**
+	 * Reference core numbers, removing the nodes of small degree for every k
+	 */
+	private static int[] naiveCores(FrozenGraph g, boolean out, boolean in) {
+		int n = g.nbNodes();
+		int[] core = new int[n];
+		boolean[] alive = new boolean[n];
+		for (int k = 1;; k++) {
+			Arrays.fill(alive, true);
+			boolean changed = true;
+			while (changed) {
+				changed = false;
+				for (int v = 0; v < n; v++) {
+					if (!alive[v]) {
+						continue;
+					}
+					int d = 0;
+					for (int a = g.outBegin(v); out && a < g.outEnd(v); a++) {
+						d += alive[g.target(a)] && g.target(a) != v ? 1 : 0;
+					}
+					for (int a = g.inBegin(v); in && a < g.inEnd(v); a++) {
+						d += alive[g.source(a)] && g.source(a) != v ? 1 : 0;
+					}
+					if (d < k) {
+						alive[v] = false;
+						changed = true;
+					}
+				}
+			}
+			boolean any = false;
+			for (int v = 0; v < n; v++) {
+				if (alive[v]) {
+					core[v] = k;
+					any = true;
+				}
+			}
+			if (!any) {
+				return core;
+			}
+		}
+	}
+
+	@Test
+	public void testCoreDecomposition() {
+		graph.addEdge(3, 4);
+		graph.addEdge(1, 1);
+		CoreDecomposition cores = graph.coreDecomposition();
+		assertArrayEquals(new int[] { 2, 2, 2, 2, 2, 2, 1, 1, 0 }, cores.coreNumbers());
+		assertEquals(2, cores.maxCore());
+		SubgraphView core2 = cores.kCore(2);
+		assertEquals(6, core2.nbNodes());
+		assertEquals(8, core2.nbEdges());
+		int[] successors = core2.successors(2);
+		Arrays.sort(successors);
+		assertArrayEquals(new int[] { 0, 1, 3 }, successors);
+		Graph copy = core2.toGraph();
+		assertTrue(copy instanceof UndirectedGraph);
+		assertEquals(6, copy.nbNodes());
+		assertFalse(copy.usesNode(7));
+
+		for (long seed = 0; seed < 5; seed++) {
+			FrozenGraph g = randomGraph(seed, 80, 300).freeze();
+			assertArrayEquals(naiveCores(g, true, false), CoreDecomposition.of(g).coreNumbers());
+			FrozenGraph d = ShortestPathsTest.randomGraph(seed, 80, 400, 1).freeze();
+			assertArrayEquals(naiveCores(d, true, false),
+					CoreDecomposition.of(d, CoreDecomposition.Degree.OUT).coreNumbers());
+			assertArrayEquals(naiveCores(d, false, true),
+					CoreDecomposition.of(d, CoreDecomposition.Degree.IN).coreNumbers());
+			assertArrayEquals(naiveCores(d, true, true), CoreDecomposition.of(d).coreNumbers());
+		}
+	}
+
+	private static void checkColoring(GraphColoring coloring) {
+		FrozenGraph g = coloring.getGraph();
+		for (int e = 0; e < g.nbEdges(); e++) {
+			int u = g.edgeFrom(e);
+			int v = g.edgeTo(e);
+			assertTrue(u == v || coloring.color(u) != coloring.color(v));
+		}
+		for (int v = 0; v < g.nbNodes(); v++) {
+			assertTrue(coloring.color(v) >= 0 && coloring.color(v) < coloring.count());
+		}
+	}
+
+	@Test
+	public void testColoring() {
+		graph.addEdge(1, 1);
+		GraphColoring coloring = graph.coloring(GraphColoring.Ordering.NATURAL);
+		assertEquals(3, coloring.count());
+		assertArrayEquals(new int[] { 0, 1, 2, 0, 1, 2, 0, 1, 0 }, coloring.colors());
+
+		for (long seed = 0; seed < 5; seed++) {
+			FrozenGraph g = randomGraph(seed, 3000, 20000).freeze();
+			int maxCore = CoreDecomposition.of(g).maxCore();
+			for (GraphColoring.Ordering ordering : GraphColoring.Ordering.values()) {
+				GraphColoring greedy = GraphColoring.greedy(g, ordering);
+				checkColoring(greedy);
+				assertArrayEquals(greedy.colors(), GraphColoring.jonesPlassmann(g, ordering).colors());
+				checkColoring(GraphColoring.speculative(g, ordering));
+			}
+			assertTrue(GraphColoring.greedy(g, GraphColoring.Ordering.SMALLEST_LAST).count() <= maxCore + 1);
+		}
+
+		assertThrows(IllegalArgumentException.class,
+				() -> GraphColoring.greedy(new Graph(2, 0, 0).freeze(), GraphColoring.Ordering.NATURAL));
+	}
+
+	/**
+	 * Reference number of components without a node and an edge, -1 for none
+	 */
+	private static int componentsWithout(FrozenGraph g, int node, int edge) {
+		ConcurrentUnionFind sets = new ConcurrentUnionFind(g.nbNodes());
+		int count = g.nbNodes() - (node >= 0 ? 1 : 0);
+		for (int e = 0; e < g.nbEdges(); e++) {
+			if (e != edge && g.edgeFrom(e) != node && g.edgeTo(e) != node
+					&& sets.union(g.edgeFrom(e), g.edgeTo(e))) {
+				count--;
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void testBiconnectivity() {
+		// Triangle 1 2 3 hanging from 4 by a double edge, then a bridge to 5
+		UndirectedGraph g = new UndirectedGraph();
+		for (int i = 1; i <= 5; i++) {
+			g.addNode(i);
+		}
+		g.addEdge(1, 2);
+		g.addEdge(2, 3);
+		g.addEdge(3, 1);
+		g.addEdge(3, 4);
+		g.addEdge(3, 4);
+		g.addEdge(4, 5);
+		g.addEdge(5, 5);
+		List<Edge> bridges = g.getBridges();
+		assertEquals(1, bridges.size());
+		assertEquals(g.getNode(5), bridges.get(0).to());
+		List<Node> points = g.getArticulationPoints();
+		assertEquals(2, points.size());
+		assertTrue(points.contains(g.getNode(3)) && points.contains(g.getNode(4)));
+		Biconnectivity b = g.biconnectivity();
+		assertEquals(3, b.count());
+
+		for (long seed = 0; seed < 10; seed++) {
+			FrozenGraph r = randomGraph(seed, 40, 45).freeze();
+			b = Biconnectivity.of(r);
+			int base = componentsWithout(r, -1, -1);
+			for (int e = 0; e < r.nbEdges(); e++) {
+				assertEquals(componentsWithout(r, -1, e) > base, b.isBridge(e));
+			}
+			boolean[] covered = new boolean[r.nbEdges()];
+			for (int c = 0; c < b.count(); c++) {
+				for (int e : b.componentEdges(c)) {
+					assertFalse(covered[e]);
+					covered[e] = true;
+				}
+			}
+			for (int v = 0; v < r.nbNodes(); v++) {
+				boolean isolated = r.outDegree(v) == 0;
+				assertEquals(componentsWithout(r, v, -1) > base - (isolated ? 1 : 0), b.isArticulationPoint(v));
+			}
+			for (int e = 0; e < r.nbEdges(); e++) {
+				assertEquals(r.edgeFrom(e) != r.edgeTo(e), covered[e]);
+			}
+		}
+
+		// Deep enough to overflow a recursive search
+		UndirectedGraph path = new UndirectedGraph();
+		path.addNode(1);
+		for (int i = 2; i <= 20000; i++) {
+			path.addNode(i);
+			path.addEdge(i - 1, i);
+		}
+		b = path.biconnectivity();
+		assertEquals(19999, b.bridges().length);
+		assertEquals(19998, b.articulationPoints().length);
+	}
+
+	@Test
+	public void testLabelPropagation() {
+		// Two 5-cliques joined by the edge 5 - 6
+		UndirectedGraph g = new UndirectedGraph();
+		for (int i = 1; i <= 10; i++) {
+			g.addNode(i);
+		}
+		for (int base = 0; base <= 5; base += 5) {
+			for (int i = 1; i <= 5; i++) {
+				for (int j = i + 1; j <= 5; j++) {
+					g.addEdge(base + i, base + j);
+				}
+			}
+		}
+		g.addEdge(5, 6);
+		var communities = g.communities();
+		assertEquals(0, (int) communities.get(g.getNode(1)));
+		assertEquals(0, (int) communities.get(g.getNode(5)));
+		assertEquals(1, (int) communities.get(g.getNode(6)));
+		assertEquals(1, (int) communities.get(g.getNode(10)));
+
+		FrozenGraph frozen = g.freeze();
+		int[] async = new LabelPropagation(frozen, LabelPropagation.Mode.ASYNCHRONOUS, false, 50, 0).run();
+		for (int v = 1; v < 5; v++) {
+			assertEquals(async[0], async[v]);
+			assertEquals(async[5], async[5 + v]);
+		}
+
+		// A heavy edge pulls node 11 to the second clique
+		g.addNode(11);
+		g.addEdge(11, 1, 1);
+		g.addEdge(11, 2, 1);
+		g.addEdge(11, 6, 5);
+		frozen = g.freeze();
+		LabelPropagation weighted = new LabelPropagation(frozen, LabelPropagation.Mode.SEMI_SYNCHRONOUS, true, 20, 0);
+		int[] labels = weighted.run();
+		assertEquals(labels[5], labels[10]);
+		assertArrayEquals(labels, weighted.run());
+		assertTrue(weighted.iterations() < 20);
+		labels = new LabelPropagation(frozen).run();
+		assertEquals(labels[0], labels[10]);
+
+		FrozenGraph r = randomGraph(1, 3000, 6000).freeze();
+		assertArrayEquals(new LabelPropagation(r).run(), new LabelPropagation(r).run());
+		FrozenGraph f = frozen;
+		assertThrows(IllegalArgumentException.class,
+				() -> new LabelPropagation(f, LabelPropagation.Mode.ASYNCHRONOUS, false, 0, 0));
+	}
+}
@@ -0,0 +1,524 @@
+package m1maxflow2025;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.Before;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import m1graphs2025.Edge;
+import m1graphs2025.Node;
+
+public class FlowNetworkTest {
+	private FlowNetwork network;
+
+	@Before
+	public void setUp() {
+		// Maximum flow 10, limited by the edges entering 6
+		network = new FlowNetwork();
+		network.addEdge(1, 2, 8);
+		network.addEdge(1, 3, 6);
+		network.addEdge(2, 4, 6);
+		network.addEdge(3, 4, 10);
+		network.addEdge(3, 5, 12);
+		network.addEdge(4, 5, 3);
+		network.addEdge(4, 6, 4);
+		network.addEdge(5, 6, 6);
+	}
+
+	static FlowNetwork randomNetwork(long seed, int n, int m, int maxCapacity) {
+		Random random = new Random(seed);
+		FlowNetwork fn = new FlowNetwork();
+		for (int i = 1; i <= n; i++) {
+			fn.addNode(i);
+		}
+		for (int i = 0; i < m; i++) {
+			fn.addEdge(random.nextInt(n) + 1, random.nextInt(n) + 1, random.nextInt(maxCapacity) + 1);
+		}
+		return fn;
+	}
+
+	/**
+	 * Reference Edmonds-Karp on a capacity matrix, parallel edges merged
+	 */
+	static int referenceMaxFlow(FlowNetwork fn) {
+		int n = fn.largestNodeId() + 1;
+		int s = fn.sourceNode().getId();
+		int t = fn.largestNodeId();
+		int[][] capacity = new int[n][n];
+		for (Edge e : fn.getAllEdges()) {
+			capacity[e.from().getId()][e.to().getId()] += e.getWeight();
+		}
+		int total = 0;
+		while (true) {
+			int[] prev = new int[n];
+			Arrays.fill(prev, -1);
+			prev[s] = s;
+			ArrayDeque<Integer> queue = new ArrayDeque<>();
+			queue.add(s);
+			while (!queue.isEmpty() && prev[t] < 0) {
+				int u = queue.poll();
+				for (int v = 0; v < n; v++) {
+					if (prev[v] < 0 && capacity[u][v] > 0) {
+						prev[v] = u;
+						queue.add(v);
+					}
+				}
+			}
+			if (prev[t] < 0) {
+				return total;
+			}
+			int delta = Integer.MAX_VALUE;
+			for (int v = t; v != s; v = prev[v]) {
+				delta = Math.min(delta, capacity[prev[v]][v]);
+			}
+			for (int v = t; v != s; v = prev[v]) {
+				capacity[prev[v]][v] -= delta;
+				capacity[v][prev[v]] += delta;
+			}
+			total += delta;
+		}
+	}
+
+	/**
+	 * Checks the capacities and the conservation of the flow
+	 *
+	 * @return the value of the flow
+	 */
+	static int checkedFlowValue(FlowNetwork fn) {
+		int s = fn.sourceNode().getId();
+		int t = fn.largestNodeId();
+		int[] balance = new int[fn.largestNodeId() + 1];
+		for (Edge e : fn.getAllEdges()) {
+			int flow = ((FlowEdge) e).getFlow();
+			assertTrue(flow >= 0 && flow <= e.getWeight());
+			balance[e.from().getId()] -= flow;
+			balance[e.to().getId()] += flow;
+		}
+		for (Node node : fn.getAllNodes()) {
+			int id = node.getId();
+			assertTrue(id == s || id == t || balance[id] == 0);
+		}
+		return balance[t];
+	}
+
+	/**
+	 * Checks that no residual path joins the source to the target, and that the
+	 * flow equals the capacity of the cut around the nodes it reaches
+	 *
+	 * @return the value of the flow
+	 */
+	static int checkedMaxFlowValue(FlowNetwork fn) {
+		int value = checkedFlowValue(fn);
+		ResidualNetwork r = ResidualNetwork.of(fn);
+		boolean[] reached = new boolean[r.nbNodes()];
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		reached[r.source()] = true;
+		queue.add(r.source());
+		while (!queue.isEmpty()) {
+			int u = queue.poll();
+			for (int i = r.arcBegin(u); i < r.arcEnd(u); i++) {
+				int a = r.arcAt(i);
+				if (r.residual(a) > 0 && !reached[r.head(a)]) {
+					reached[r.head(a)] = true;
+					queue.add(r.head(a));
+				}
+			}
+		}
+		assertFalse(reached[r.target()]);
+		int cut = 0;
+		for (int e = 0; e < r.nbEdges(); e++) {
+			if (reached[r.tail(2 * e)] && !reached[r.head(2 * e)]) {
+				cut += r.edgeOf(2 * e).getWeight();
+			}
+		}
+		assertEquals(cut, value);
+		return value;
+	}
+
+	private FlowEdge edge(int fromId, int toId) {
+		return (FlowEdge) network.getEdges(network.getNode(fromId), network.getNode(toId)).get(0);
+	}
+
+	@Test
+	public void testResidualNetwork() {
+		ResidualNetwork r = ResidualNetwork.of(network);
+		assertEquals(6, r.nbNodes());
+		assertEquals(8, r.nbEdges());
+		assertEquals(16, r.nbArcs());
+		assertEquals(0, r.source());
+		assertEquals(5, r.target());
+		assertEquals(-1, r.indexOf(7));
+		for (int u = 0; u < r.nbNodes(); u++) {
+			assertEquals(u + 1, r.id(u));
+			for (int i = r.arcBegin(u); i < r.arcEnd(u); i++) {
+				int a = r.arcAt(i);
+				assertEquals(u, r.tail(a));
+				assertEquals(u, r.head(a ^ 1));
+				assertEquals(r.isForward(a) ? r.edgeOf(a).getWeight() : 0, r.residual(a));
+			}
+		}
+
+		// 1 -> 3 -> 4 -> 6, then 4 -> 3 cancels part of the flow of 3 -> 4
+		List<Node> path = List.of(network.getNode(1), network.getNode(3), network.getNode(4), network.getNode(6));
+		r.augment(path, 4);
+		assertEquals(4, r.flowValue());
+		assertEquals(2, r.residual(r.findArc(0, 2, 1)));
+		assertEquals(4, r.residual(r.findArc(3, 2, 1)));
+		assertEquals(-1, r.findArc(3, 5, 1));
+		List<Node> back = List.of(network.getNode(4), network.getNode(3), network.getNode(5));
+		r.augment(back, 1);
+		assertEquals(3, r.flow(r.forwardArc(edge(3, 4)) / 2));
+		assertThrows(IllegalArgumentException.class, () -> r.augment(path, 1));
+
+		// Nothing reaches the FlowEdges before writeBack
+		assertTrue(network.getAllEdges().stream().allMatch(e -> ((FlowEdge) e).getFlow() == 0));
+		r.writeBack();
+		assertEquals(4, (int) edge(4, 6).getFlow());
+		assertEquals(1, (int) edge(3, 5).getFlow());
+
+		assertEquals(0, ResidualNetwork.of(new FlowNetwork()).flowValue());
+	}
+
+	@Test
+	public void testResidualGraphView() {
+		ResidualNetwork r = ResidualNetwork.of(network);
+		ResidualGraph view = ResidualGraph.of(r);
+		assertSame(r, view.getNetwork());
+		assertEquals(6, view.nbNodes());
+		assertEquals(8, view.nbEdges());
+		assertEquals(1, view.sourceNode().getId());
+		assertEquals(6, view.targetNode().getId());
+		assertTrue(view.holdsNode(view.getNode(3)));
+		assertNull(view.getNode(7));
+
+		r.augment(List.of(view.getNode(1), view.getNode(3), view.getNode(4), view.getNode(6)), 4);
+		// 4 -> 6 is saturated, the two other arcs of the path get a reverse arc
+		assertEquals(10, view.nbEdges());
+		assertFalse(view.adjacent(4, 6));
+		assertTrue(view.adjacent(6, 4));
+		assertEquals(1, view.getEdges(view.getNode(4), view.getNode(3)).size());
+		assertEquals(1, view.getEdges(view.getNode(3), view.getNode(4)).size());
+		assertEquals(1, view.getInEdges(6).size());
+		assertEquals(view.nbEdges(), view.getAllEdges().size());
+
+		// The classic copy agrees with the view
+		r.writeBack();
+		ResidualGraph copy = ResidualGraph.from(network);
+		assertEquals(copy.nbEdges(), view.nbEdges());
+		for (Node node : copy.getAllNodes()) {
+			assertEquals(copy.outDegree(node.getId()), view.outDegree(node.getId()));
+			assertEquals(copy.inDegree(node.getId()), view.inDegree(node.getId()));
+		}
+	}
+
+	@Test
+	public void testMaxFlow() {
+		List<FordFulkerson.PathFinder> finders = List.of(PathFinder.bfsPathFinder(), PathFinder.dfsPathFinder(),
+				PathFinder.dijkstraPathFinder(), PathFinder.dijkstraMaxPathFinder());
+		for (FordFulkerson.PathFinder finder : finders) {
+			setUp();
+			assertSame(network, FordFulkerson.maxFlow(network, finder));
+			assertEquals(10, checkedFlowValue(network));
+		}
+		for (long seed = 0; seed < 5; seed++) {
+			int expected = referenceMaxFlow(randomNetwork(seed, 40, 200, 20));
+			for (FordFulkerson.PathFinder finder : finders) {
+				FlowNetwork fn = randomNetwork(seed, 40, 200, 20);
+				FordFulkerson.maxFlow(fn, finder);
+				assertEquals(expected, checkedFlowValue(fn));
+			}
+		}
+		FlowNetwork empty = new FlowNetwork();
+		assertSame(empty, FordFulkerson.maxFlow(empty, PathFinder.bfsPathFinder()));
+		// The source is the target: the path [s] must not be augmented forever
+		FlowNetwork single = new FlowNetwork();
+		single.addNode(1);
+		for (FordFulkerson.PathFinder finder : finders) {
+			assertEquals(0, FordFulkerson.maxFlow(ResidualNetwork.of(single), finder));
+		}
+	}
+
+	@Test
+	public void testDinic() {
+		assertSame(network, Dinic.maxFlow(network));
+		assertEquals(10, checkedMaxFlowValue(network));
+		assertTrue(network.toDotString().contains("Value: 10"));
+		// Nothing left to push
+		assertEquals(0, Dinic.maxFlow(ResidualNetwork.of(network)));
+
+		for (long seed = 0; seed < 5; seed++) {
+			FlowNetwork fn = randomNetwork(seed, 40, 200, 20);
+			int expected = referenceMaxFlow(fn);
+			Dinic.maxFlow(fn);
+			assertEquals(expected, checkedMaxFlowValue(fn));
+		}
+
+		// From a partial flow
+		FlowNetwork partial = randomNetwork(7, 40, 200, 20);
+		ResidualNetwork r = ResidualNetwork.of(partial);
+		r.augment(PathFinder.dijkstraPathFinder().findPath(ResidualGraph.of(r), partial.getNode(1), partial.getNode(40)), 1);
+		r.writeBack();
+		int expected = referenceMaxFlow(partial);
+		assertEquals(expected - 1, Dinic.maxFlow(ResidualNetwork.of(partial)));
+
+		FlowNetwork big = randomNetwork(11, 3000, 20000, 1000);
+		Dinic.maxFlow(big);
+		assertTrue(checkedMaxFlowValue(big) > 0);
+		FlowNetwork empty = new FlowNetwork();
+		assertSame(empty, Dinic.maxFlow(empty));
+	}
+
+	@Test
+	public void testPushRelabel() {
+		assertSame(network, PushRelabel.maxFlow(network));
+		assertEquals(10, checkedMaxFlowValue(network));
+		assertEquals(0, PushRelabel.maxFlow(ResidualNetwork.of(network)));
+
+		List<FordFulkerson.Solver> solvers = List.of(Solver.pushRelabel(), Solver.dinic(),
+				Solver.fordFulkerson(PathFinder.dijkstraMaxPathFinder()));
+		for (long seed = 0; seed < 10; seed++) {
+			int expected = referenceMaxFlow(randomNetwork(seed, 40, 40 + 40 * (int) seed, 20));
+			for (FordFulkerson.Solver solver : solvers) {
+				FlowNetwork fn = randomNetwork(seed, 40, 40 + 40 * (int) seed, 20);
+				assertSame(fn, FordFulkerson.maxFlow(fn, solver));
+				assertEquals(expected, checkedMaxFlowValue(fn));
+			}
+		}
+
+		// Dense enough for gaps and global relabels
+		for (long seed = 0; seed < 3; seed++) {
+			FlowNetwork fn = randomNetwork(seed, 300, 20000, 100);
+			FlowNetwork copy = randomNetwork(seed, 300, 20000, 100);
+			assertEquals(Dinic.maxFlow(ResidualNetwork.of(copy)), PushRelabel.maxFlow(ResidualNetwork.of(fn)));
+			PushRelabel.maxFlow(fn);
+			checkedMaxFlowValue(fn);
+		}
+		FlowNetwork big = randomNetwork(11, 3000, 20000, 1000);
+		PushRelabel.maxFlow(big);
+		assertTrue(checkedMaxFlowValue(big) > 0);
+		FlowNetwork empty = new FlowNetwork();
+		assertSame(empty, FordFulkerson.maxFlow(empty, Solver.pushRelabel()));
+	}
+
+	@Test
+	public void testParallelPushRelabel() {
+		ParallelPushRelabel solver = new ParallelPushRelabel();
+		assertSame(network, solver.maxFlow(network));
+		assertEquals(10, checkedMaxFlowValue(network));
+		assertTrue(solver.globalRelabels() >= 1);
+
+		for (long seed = 0; seed < 10; seed++) {
+			FlowNetwork fn = randomNetwork(seed, 40, 40 + 40 * (int) seed, 20);
+			int expected = referenceMaxFlow(fn);
+			FordFulkerson.maxFlow(fn, Solver.parallelPushRelabel());
+			assertEquals(expected, checkedMaxFlowValue(fn));
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			ParallelPushRelabel pooled = new ParallelPushRelabel(pool);
+			for (long seed = 0; seed < 3; seed++) {
+				FlowNetwork fn = randomNetwork(seed, 300, 20000, 100);
+				assertEquals(PushRelabel.maxFlow(ResidualNetwork.of(fn)), pooled.maxFlow(ResidualNetwork.of(fn)));
+				pooled.maxFlow(fn);
+				checkedMaxFlowValue(fn);
+			}
+			FlowNetwork big = randomNetwork(11, 3000, 20000, 1000);
+			int expected = Dinic.maxFlow(ResidualNetwork.of(big));
+			pooled.maxFlow(big);
+			assertEquals(expected, checkedMaxFlowValue(big));
+			assertTrue(pooled.rounds() > 0);
+		} finally {
+			pool.shutdown();
+		}
+		FlowNetwork empty = new FlowNetwork();
+		assertSame(empty, solver.maxFlow(empty));
+	}
+
+	@Test
+	public void testCapacityScaling() {
+		assertSame(network, CapacityScaling.maxFlow(network));
+		assertEquals(10, checkedMaxFlowValue(network));
+		assertEquals(0, CapacityScaling.maxFlow(ResidualNetwork.of(network)));
+
+		for (long seed = 0; seed < 10; seed++) {
+			FlowNetwork fn = randomNetwork(seed, 40, 40 + 40 * (int) seed, 20);
+			int expected = referenceMaxFlow(fn);
+			FordFulkerson.maxFlow(fn, Solver.capacityScaling());
+			assertEquals(expected, checkedMaxFlowValue(fn));
+		}
+
+		// Capacities over six orders of magnitude
+		Random random = new Random(5);
+		FlowNetwork wide = new FlowNetwork();
+		for (int i = 1; i <= 2000; i++) {
+			wide.addNode(i);
+		}
+		for (int i = 0; i < 15000; i++) {
+			wide.addEdge(random.nextInt(2000) + 1, random.nextInt(2000) + 1, 1 << random.nextInt(20));
+		}
+		int expected = Dinic.maxFlow(ResidualNetwork.of(wide));
+		CapacityScaling.maxFlow(wide);
+		assertEquals(expected, checkedMaxFlowValue(wide));
+		FlowNetwork empty = new FlowNetwork();
+		assertSame(empty, CapacityScaling.maxFlow(empty));
+	}
+
+	@Test
+	public void testParentSearch() {
+		// Both kinds of residual graphs, with the same finders reused
+		FordFulkerson.PathFinder bfs = PathFinder.bfsPathFinder();
+		FordFulkerson.PathFinder dfs = PathFinder.dfsPathFinder();
+		for (FordFulkerson.PathFinder finder : List.of(bfs, dfs)) {
+			ResidualGraph copy = ResidualGraph.from(network);
+			ResidualGraph view = ResidualGraph.of(ResidualNetwork.of(network));
+			for (ResidualGraph r : List.of(copy, view)) {
+				List<Node> path = finder.findPath(r, r.getNode(1), r.getNode(6));
+				assertEquals(r.getNode(1), path.get(0));
+				assertEquals(r.getNode(6), path.get(path.size() - 1));
+				for (int i = 0; i + 1 < path.size(); i++) {
+					assertTrue(r.adjacent(path.get(i), path.get(i + 1)));
+				}
+				assertEquals(List.of(r.getNode(3)), finder.findPath(r, r.getNode(3), r.getNode(3)));
+				assertNull(finder.findPath(r, r.getNode(6), r.getNode(1)));
+			}
+		}
+		// Shortest paths for the BFS
+		assertEquals(4, bfs.findPath(ResidualGraph.from(network), network.getNode(1), network.getNode(6)).size());
+
+		// Large networks, which the path-copying searches could not handle
+		FlowNetwork big = randomNetwork(11, 3000, 20000, 1000);
+		int expected = Dinic.maxFlow(ResidualNetwork.of(big));
+		FordFulkerson.maxFlow(big, dfs);
+		assertEquals(expected, checkedMaxFlowValue(big));
+		big = randomNetwork(11, 3000, 20000, 1000);
+		FordFulkerson.maxFlow(big, bfs);
+		assertEquals(expected, checkedMaxFlowValue(big));
+	}
+
+	@Test
+	public void testMinCut() {
+		MinCut cut = FordFulkerson.minCut(network, Solver.dinic());
+		assertEquals(10, cut.capacity());
+		assertEquals(10, checkedMaxFlowValue(network));
+		// The cut nearest the source is made of the edges into 6
+		assertEquals(List.of(edge(4, 6), edge(5, 6)), cut.edges().stream()
+				.sorted((a, b) -> a.from().getId() - b.from().getId()).toList());
+		BitSet expected = new BitSet();
+		expected.set(0, 5);
+		assertEquals(expected, cut.sourceSide());
+		assertEquals(5, cut.sourceNodes().size());
+		assertTrue(cut.isOnSourceSide(network.getNode(5)));
+		assertFalse(cut.isOnSourceSide(network.getNode(6)));
+		// Read again from the flows
+		assertEquals(cut.sourceSide(), MinCut.of(network).sourceSide());
+
+		List<FordFulkerson.Solver> solvers = List.of(Solver.dinic(), Solver.pushRelabel(),
+				Solver.parallelPushRelabel(), Solver.capacityScaling(),
+				Solver.fordFulkerson(PathFinder.bfsPathFinder()));
+		for (long seed = 0; seed < 5; seed++) {
+			for (FordFulkerson.Solver solver : solvers) {
+				FlowNetwork fn = randomNetwork(seed, 300, 3000, 100);
+				MinCut c = FordFulkerson.minCut(fn, solver);
+				assertEquals(checkedMaxFlowValue(fn), c.capacity());
+				for (FlowEdge e : c.edges()) {
+					assertEquals(e.getWeight(), e.getFlow());
+					assertTrue(c.isOnSourceSide(e.from()) && !c.isOnSourceSide(e.to()));
+				}
+				assertTrue(c.isOnSourceSide(fn.getNode(1)));
+				assertFalse(c.isOnSourceSide(fn.getNode(300)));
+			}
+		}
+		assertEquals(0, MinCut.of(new FlowNetwork()).capacity());
+	}
+
+	@Test
+	public void testIncrementalMaxFlow() {
+		IncrementalMaxFlow flow = new IncrementalMaxFlow(network);
+		assertEquals(10, flow.value());
+		Set<Edge> hashed = new HashSet<>(network.getAllEdges());
+		// 5 -> 6 down to 2: the 4 units above are cancelled
+		assertEquals(6, flow.changeCapacity(edge(5, 6), -4));
+		assertEquals(2, (int) edge(5, 6).getWeight());
+		assertEquals(6, checkedMaxFlowValue(network));
+		assertEquals(11, flow.changeCapacities(List.of(edge(5, 6), edge(4, 6)), new int[] { 4, 1 }));
+		assertEquals(11, checkedMaxFlowValue(network));
+		assertEquals(flow.value(), flow.minCut().capacity());
+		// A capacity change keeps the edges in hashed collections
+		assertTrue(hashed.containsAll(network.getAllEdges()));
+
+		// Nothing changes on errors
+		assertThrows(IllegalArgumentException.class, () -> flow.changeCapacity(edge(4, 6), -6));
+		assertThrows(IllegalArgumentException.class,
+				() -> flow.changeCapacities(List.of(edge(4, 6), edge(4, 6)), new int[] { -3, -3 }));
+		assertThrows(IllegalArgumentException.class, () -> flow.changeCapacities(List.of(edge(4, 6)), new int[0]));
+		assertEquals(5, (int) edge(4, 6).getWeight());
+		assertThrows(IllegalArgumentException.class, () -> edge(4, 6).setCapacity(edge(4, 6).getFlow() - 1));
+
+		Random random = new Random(3);
+		for (long seed = 0; seed < 5; seed++) {
+			FlowNetwork fn = randomNetwork(seed, 200, 2000, 50);
+			IncrementalMaxFlow incremental = new IncrementalMaxFlow(fn, Solver.pushRelabel());
+			List<FlowEdge> all = fn.getAllEdges().stream().map(e -> (FlowEdge) e).toList();
+			for (int round = 0; round < 20; round++) {
+				List<FlowEdge> changed = new ArrayList<>();
+				int[] deltas = new int[5];
+				for (int i = 0; i < deltas.length; i++) {
+					FlowEdge e = all.get(random.nextInt(all.size()));
+					changed.add(e);
+					deltas[i] = Math.max(-e.getWeight(), random.nextInt(41) - 20);
+					// A repeated edge only grows, so that its capacity stays positive
+					if (changed.indexOf(e) < i) {
+						deltas[i] = Math.max(0, deltas[i]);
+					}
+				}
+				int value = incremental.changeCapacities(changed, deltas);
+				assertEquals(referenceMaxFlow(fn), value);
+				assertEquals(value, checkedMaxFlowValue(fn));
+			}
+		}
+		assertEquals(0, new IncrementalMaxFlow(new FlowNetwork()).changeCapacities(List.of(), new int[0]));
+	}
+
+	@Test
+	public void testIncrementalMaxFlowCirculation() {
+		// 1 -> 2 -> 5, and a saturated circulation 2 -> 3 -> 4 -> 2
+		FlowNetwork fn = new FlowNetwork();
+		fn.addEdge(1, 2, 1, 0);
+		fn.addEdge(2, 5, 1, 0);
+		fn.addEdge(2, 3, 5, 5);
+		fn.addEdge(3, 4, 5, 5);
+		fn.addEdge(4, 2, 5, 5);
+		IncrementalMaxFlow flow = new IncrementalMaxFlow(fn);
+		assertEquals(1, flow.value());
+		FlowEdge cycle = (FlowEdge) fn.getEdges(fn.getNode(2), fn.getNode(3)).get(0);
+		// The cut flow can only go back around the cycle
+		assertEquals(1, flow.changeCapacity(cycle, -3));
+		assertEquals(2, (int) cycle.getWeight());
+		assertTrue(cycle.getFlow() <= 2);
+		assertEquals(1, checkedMaxFlowValue(fn));
+		assertEquals(1, flow.changeCapacity(cycle, -2));
+		assertEquals(0, (int) cycle.getFlow());
+		assertEquals(1, checkedMaxFlowValue(fn));
+
+		// Invalid starting flows are rejected
+		FlowNetwork leaking = new FlowNetwork();
+		leaking.addEdge(1, 2, 3, 2);
+		leaking.addEdge(2, 3, 3, 1);
+		assertThrows(IllegalArgumentException.class, () -> new IncrementalMaxFlow(leaking));
+		FlowNetwork over = new FlowNetwork();
+		over.addEdge(1, 2, 3, 0);
+		((FlowEdge) over.getAllEdges().get(0)).setFlow(4);
+		assertThrows(IllegalArgumentException.class, () -> new IncrementalMaxFlow(over));
+	}
+}